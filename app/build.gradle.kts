@@ -1,3 +1,6 @@
+import groovy.json.JsonSlurper
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
 import org.gradle.api.tasks.JavaExec
 /*
  * This file was generated by the Gradle 'init' task.
@@ -44,7 +47,93 @@ application {
 tasks.named<JavaExec>("run") {
     standardInput = System.`in`
 }
+
+/**
+ * 将 cards.json 编译为紧凑的二进制牌目录（tarot/cards.bin），格式见 tarot.repository.BinaryCardRepository：
+ * 12 字节文件头 + 每张牌 16 字节的定长记录 + UTF-8 字符串表。
+ * Arcana / Suit 以枚举声明顺序编码，调整枚举顺序时需同步修改此处。
+ */
+abstract class CompileCardCatalog : DefaultTask() {
+
+    @get:InputFile
+    abstract val source: RegularFileProperty
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    @TaskAction
+    fun compile() {
+        val arcanaCodes = listOf("MAJOR", "MINOR")
+        val suitCodes = listOf("WANDS", "CUPS", "SWORDS", "PENTACLES", "NONE")
+
+        @Suppress("UNCHECKED_CAST")
+        val cards = JsonSlurper().parse(source.get().asFile, "UTF-8") as List<Map<String, Any?>>
+        require(cards.isNotEmpty()) { "cards.json 为空" }
+        require(cards.size <= Short.MAX_VALUE) { "牌数过多：${cards.size}" }
+
+        val strings = ByteArrayOutputStream()
+        val records = ByteArrayOutputStream()
+        val recordOut = DataOutputStream(records)
+        for (card in cards) {
+            val id = (card["id"] as String).toByteArray(Charsets.UTF_8)
+            val name = (card["name"] as String).toByteArray(Charsets.UTF_8)
+            val arcana = arcanaCodes.indexOf(card["arcana"])
+            val suit = suitCodes.indexOf(card["suit"])
+            require(arcana >= 0) { "未知的 arcana：${card["arcana"]}（${card["id"]}）" }
+            require(suit >= 0) { "未知的 suit：${card["suit"]}（${card["id"]}）" }
+            require(id.size <= 0xFFFF && name.size <= 0xFFFF) { "字段过长：${card["id"]}" }
+
+            recordOut.writeInt(strings.size())
+            strings.write(id)
+            recordOut.writeInt(strings.size())
+            strings.write(name)
+            recordOut.writeShort(id.size)
+            recordOut.writeShort(name.size)
+            recordOut.writeByte(arcana)
+            recordOut.writeByte(suit)
+            recordOut.writeShort((card["number"] as Number).toInt())
+        }
+
+        val target = outputDir.get().file("tarot/cards.bin").asFile
+        target.parentFile.mkdirs()
+        DataOutputStream(target.outputStream().buffered()).use { out ->
+            out.writeInt(0x54415243) // "TARC"
+            out.writeShort(1)
+            out.writeShort(cards.size)
+            out.writeInt(strings.size())
+            records.writeTo(out)
+            strings.writeTo(out)
+        }
+    }
+}
+
+val compileCardCatalog by tasks.registering(CompileCardCatalog::class) {
+    description = "Compiles tarot/cards.json into the binary card catalog tarot/cards.bin."
+    source.set(layout.projectDirectory.file("src/main/resources/tarot/cards.json"))
+    outputDir.set(layout.buildDirectory.dir("generated/resources/cardCatalog"))
+}
+
+sourceSets {
+    main {
+        resources.srcDir(compileCardCatalog)
+    }
+}
+
 tasks.named<Test>("test") {
     // Use JUnit Platform for unit tests.
     useJUnitPlatform()
 }
+
+tasks.register<JavaExec>("shuffleBenchmark") {
+    group = "verification"
+    description = "Compares cost and mixing quality of the shuffle strategies."
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("tarot.draw.strategy.ShuffleBenchmark")
+}
+
+tasks.register<JavaExec>("entropyBenchmark") {
+    group = "verification"
+    description = "Compares pooled SecureRandom draws with direct SecureRandom calls."
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("tarot.draw.random.EntropyBenchmark")
+}
@@ -1,15 +1,22 @@
 package tarot.app;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Random;
 import java.util.Scanner;
+import tarot.deck.checkpoint.DeckCheckpointStore;
 import tarot.deck.factory.DeckFactory;
 import tarot.deck.factory.StandardTarotDeckFactory;
+import tarot.draw.random.EntropyPoolRandomProvider;
+import tarot.draw.random.RandomGeneratorProvider;
+import tarot.draw.random.SplittingRandomProvider;
 import tarot.draw.strategy.DrawStrategy;
 import tarot.draw.strategy.StandardDrawStrategy;
+import tarot.repository.BinaryCardRepository;
+import tarot.repository.CachingCardRepository;
 import tarot.repository.CardRepository;
-import tarot.repository.JsonCardRepository;
+import tarot.repository.WatchingFileCardRepository;
 import tarot.service.TarotDrawService;
 import tarot.spread.FourCardPattern;
 import tarot.spread.PatternBasedSpread;
@@ -17,7 +24,7 @@ import tarot.spread.RelationshipFourCardSpread;
 import tarot.spread.SingleCardSpread;
 import tarot.spread.Spread;
 import tarot.spread.SpreadPattern;
-import tarot.spread.SpreadRecommender;
+import tarot.spread.SpreadRecommendationService;
 import tarot.spread.SpreadRecommender.SpreadSuggestion;
 import tarot.spread.ThreeCardPattern;
 
@@ -26,11 +33,18 @@ public class TarotCliApp {
 
   public static void main(String[] args) {
 
-    CardRepository repository = new JsonCardRepository();
+    CardRepository repository = createRepository(args);
     DeckFactory deckFactory = new StandardTarotDeckFactory(repository);
     DrawStrategy strategy = new StandardDrawStrategy();
-    Random random = new Random();
-    TarotDrawService service = new TarotDrawService(deckFactory, strategy, random);
+    TarotDrawService service =
+        new TarotDrawService(deckFactory, strategy, createRandomProvider(args));
+    SpreadRecommendationService recommendations = new SpreadRecommendationService();
+
+    // 连续牌堆模式：跨多次占卜、多次启动持续使用同一副牌
+    DeckCheckpointStore checkpointStore = createCheckpointStore(args);
+    if (checkpointStore != null) {
+      restoreCheckpoint(service, checkpointStore, repository);
+    }
 
     // 命令行交互
     try (Scanner scanner = new Scanner(System.in, StandardCharsets.UTF_8)) {
@@ -46,7 +60,8 @@ public class TarotCliApp {
           break;
         }
 
-        SpreadSelection selection = chooseSpreadWithRecommendations(scanner, question);
+        SpreadSelection selection =
+            chooseSpreadWithRecommendations(scanner, recommendations, question);
         if (selection.exitRequested()) {
           running = false;
           System.out.println("已退出程序，再见");
@@ -63,8 +78,10 @@ public class TarotCliApp {
         // 询问是否启用逆位
         boolean enableReversed = askReversedEnabled(scanner);
 
-        // 每次占卜前重置牌堆
-        service.resetDeck();
+        // 每次占卜前重置牌堆；连续牌堆模式下只在剩余牌不足时重置
+        if (checkpointStore == null || service.getCurrentDeck().size() < spread.getCardCount()) {
+          service.resetDeck();
+        }
 
         // 执行抽牌
         System.out.println("正在抽牌，请稍候...");
@@ -76,6 +93,10 @@ public class TarotCliApp {
         System.out.println("=====================");
         System.out.println();
 
+        if (checkpointStore != null) {
+          saveCheckpoint(service, checkpointStore);
+        }
+
         // 是否继续
         System.out.println("是否继续抽牌? (y/n 默认y): ");
 
@@ -90,6 +111,79 @@ public class TarotCliApp {
     }
   }
 
+  /** 指定 --cards=路径 时使用可热更新的外部牌数据文件，否则使用内置的二进制牌目录（缺失时回退到JSON） */
+  private static CardRepository createRepository(String[] args) {
+    String cardsFile = optionValue(args, "--cards");
+    if (cardsFile != null) {
+      return new WatchingFileCardRepository(Path.of(cardsFile)).startWatching();
+    }
+    return new CachingCardRepository(new BinaryCardRepository());
+  }
+
+  /** 指定 --ritual 时使用基于 SecureRandom 熵池的仪式模式，否则使用每线程拆分的普通随机数 */
+  private static RandomGeneratorProvider createRandomProvider(String[] args) {
+    if (hasFlag(args, "--ritual")) {
+      return new EntropyPoolRandomProvider();
+    }
+    return new SplittingRandomProvider();
+  }
+
+  /** 指定 --continuous 或 --continuous=路径 时启用连续牌堆模式，默认状态文件位于用户目录下 */
+  private static DeckCheckpointStore createCheckpointStore(String[] args) {
+    String path = optionValue(args, "--continuous");
+    if (path == null && !hasFlag(args, "--continuous")) {
+      return null;
+    }
+    if (path == null || path.isBlank()) {
+      return new DeckCheckpointStore(
+          Path.of(System.getProperty("user.home"), ".tarot-cli", "deck.state"));
+    }
+    return new DeckCheckpointStore(Path.of(path));
+  }
+
+  private static void restoreCheckpoint(
+      TarotDrawService service, DeckCheckpointStore store, CardRepository repository) {
+    try {
+      store
+          .load(repository.catalog())
+          .ifPresent(
+              deck -> {
+                service.restoreDeck(deck);
+                System.out.println("已恢复上次的牌堆，剩余 " + deck.size() + " 张牌");
+              });
+    } catch (IOException e) {
+      System.out.println("读取牌堆状态失败，将使用新牌堆：" + e.getMessage());
+    }
+  }
+
+  private static void saveCheckpoint(TarotDrawService service, DeckCheckpointStore store) {
+    try {
+      store.save(service.getCurrentDeck());
+      System.out.println("牌堆剩余 " + service.getCurrentDeck().size() + " 张牌，状态已保存");
+    } catch (IOException e) {
+      System.out.println("保存牌堆状态失败：" + e.getMessage());
+    }
+  }
+
+  private static boolean hasFlag(String[] args, String name) {
+    for (String arg : args) {
+      if (arg.equals(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String optionValue(String[] args, String name) {
+    String prefix = name + "=";
+    for (String arg : args) {
+      if (arg.startsWith(prefix)) {
+        return arg.substring(prefix.length());
+      }
+    }
+    return null;
+  }
+
   private static void printMenu() {
     System.out.println("请选择牌阵类型：");
     System.out.println(" 1. 单张牌：主题指引");
@@ -161,8 +255,9 @@ public class TarotCliApp {
     return choosePatternSpread(scanner, FourCardPattern.values(), "四张牌");
   }
 
-  private static SpreadSelection chooseSpreadWithRecommendations(Scanner scanner, String question) {
-    List<SpreadSuggestion> suggestions = SpreadRecommender.recommend(question);
+  private static SpreadSelection chooseSpreadWithRecommendations(
+      Scanner scanner, SpreadRecommendationService recommendations, String question) {
+    List<SpreadSuggestion> suggestions = recommendations.recommend(question);
     if (!suggestions.isEmpty()) {
       Spread spread = chooseFromSuggestions(scanner, suggestions);
       if (spread != null) {
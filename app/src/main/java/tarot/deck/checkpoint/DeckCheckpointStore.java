@@ -0,0 +1,146 @@
+package tarot.deck.checkpoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import tarot.domain.CardCatalog;
+import tarot.domain.Deck;
+
+/**
+ * 牌堆状态的本地持久化，用于跨多次占卜、跨多次启动连续使用同一副已洗好的牌。
+ *
+ * <p>只保存剩余牌的排列（牌数不超过256时每张牌1字节），标准78张牌的检查点不超过88字节：
+ *
+ * <pre>
+ * short magic = "TD" | byte version = 1 | byte 每张牌的字节数(1或2) | int 牌目录指纹 | short 剩余牌数 | 剩余牌序号...
+ * </pre>
+ *
+ * 写入时先写临时文件并刷到磁盘再原子替换，进程退出或断电都不会留下半个检查点；恢复只读取这一个小文件，不需要重新加载牌数据或重新洗牌。
+ * 指纹与当前牌目录不一致（例如牌数据已更新）或文件损坏时视为没有检查点。
+ */
+public class DeckCheckpointStore {
+
+  static final short MAGIC = 0x5444;
+  static final byte VERSION = 1;
+  static final int HEADER_SIZE = 10;
+
+  private final Path file;
+
+  public DeckCheckpointStore(Path file) {
+    this.file = file.toAbsolutePath().normalize();
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * 原子地写入牌堆当前的剩余牌状态
+   *
+   * @param deck 牌堆
+   * @throws IOException 写入失败时抛出，原有检查点保持不变
+   */
+  public void save(Deck deck) throws IOException {
+    byte[] bytes = encode(deck);
+    Path dir = file.getParent();
+    Files.createDirectories(dir);
+    Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        // 先让数据落盘再改名，否则断电后可能只留下改名而数据丢失
+        channel.force(true);
+      }
+      try {
+        Files.move(
+            temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * 读取检查点并恢复为基于给定牌目录的牌堆
+   *
+   * @param catalog 当前牌目录
+   * @return 恢复出的牌堆；没有检查点、检查点属于其他牌目录或已损坏时为空
+   * @throws IOException 文件存在但无法读取时抛出
+   */
+  public Optional<Deck> load(CardCatalog catalog) throws IOException {
+    byte[] bytes;
+    try {
+      bytes = Files.readAllBytes(file);
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    }
+    return decode(bytes, catalog);
+  }
+
+  /** 删除检查点 */
+  public void clear() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  static byte[] encode(Deck deck) {
+    CardCatalog catalog = deck.getCatalog();
+    int[] ordinals = new int[deck.size()];
+    int count = deck.copyRemainingTo(ordinals);
+    int width = catalog.size() <= 256 ? 1 : 2;
+
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * width);
+    buffer.putShort(MAGIC).put(VERSION).put((byte) width);
+    buffer.putInt(catalog.fingerprint()).putShort((short) count);
+    for (int i = 0; i < count; i++) {
+      if (width == 1) {
+        buffer.put((byte) ordinals[i]);
+      } else {
+        buffer.putShort((short) ordinals[i]);
+      }
+    }
+    return buffer.array();
+  }
+
+  static Optional<Deck> decode(byte[] bytes, CardCatalog catalog) {
+    if (bytes.length < HEADER_SIZE) {
+      return Optional.empty();
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    int width = bytes[3];
+    if (buffer.getShort(0) != MAGIC
+        || bytes[2] != VERSION
+        || (width != 1 && width != 2)
+        || buffer.getInt(4) != catalog.fingerprint()) {
+      return Optional.empty();
+    }
+    int count = buffer.getShort(8) & 0xFFFF;
+    if (bytes.length != HEADER_SIZE + count * width) {
+      return Optional.empty();
+    }
+
+    int[] ordinals = new int[count];
+    buffer.position(HEADER_SIZE);
+    for (int i = 0; i < count; i++) {
+      ordinals[i] = width == 1 ? buffer.get() & 0xFF : buffer.getShort() & 0xFFFF;
+    }
+    Deck deck = new Deck(catalog);
+    try {
+      deck.restoreRemaining(ordinals, count);
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+    return Optional.of(deck);
+  }
+}
@@ -11,4 +11,14 @@ public interface DeckFactory {
    * @return
    */
   Deck createStandardDeck();
+
+  /**
+   * 将用过的牌堆恢复为一副完整的标准牌堆 默认重新创建，实现类可以选择原地重置以避免重复加载
+   *
+   * @param deck 用过的牌堆
+   * @return 可继续使用的完整牌堆，可能就是传入的同一个实例
+   */
+  default Deck resetDeck(Deck deck) {
+    return createStandardDeck();
+  }
 }
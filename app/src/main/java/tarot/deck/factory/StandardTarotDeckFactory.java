@@ -1,8 +1,7 @@
 package tarot.deck.factory;
 
-import java.util.List;
+import tarot.domain.CardCatalog;
 import tarot.domain.Deck;
-import tarot.domain.TarotCard;
 import tarot.repository.CardRepository;
 
 /** 使用CardRepository提供的数据构建一副标准的塔罗牌牌堆 */
@@ -16,7 +15,17 @@ public class StandardTarotDeckFactory implements DeckFactory {
 
   @Override
   public Deck createStandardDeck() {
-    List<TarotCard> cards = cardRepository.findAll();
-    return new Deck(cards);
+    return new Deck(cardRepository.catalog());
+  }
+
+  /** 牌目录未变化时原地重置牌堆，否则按新的牌目录重新创建 */
+  @Override
+  public Deck resetDeck(Deck deck) {
+    CardCatalog catalog = cardRepository.catalog();
+    if (deck == null || deck.getCatalog() != catalog) {
+      return new Deck(catalog);
+    }
+    deck.reset();
+    return deck;
   }
 }
@@ -0,0 +1,228 @@
+package tarot.deck.pool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import tarot.deck.factory.DeckFactory;
+import tarot.draw.random.RandomGeneratorProvider;
+import tarot.draw.random.SplittingRandomProvider;
+import tarot.domain.CardCatalog;
+import tarot.domain.Deck;
+import tarot.repository.CardRepository;
+
+/**
+ * 预先洗好的牌堆池，可作为 {@link DeckFactory} 放在 {@link tarot.service.TarotDrawService} 前面。
+ *
+ * <p>后台生产线程不断从仓储的牌目录创建牌堆并洗好，放入有界无锁环形队列；取牌堆只是一次出队，开销为 O(1)，
+ * 突发请求时占卜的延迟不再取决于洗牌耗时。
+ * <ul>
+ *   <li>队列为空（下溢）时在调用线程上同步洗牌，使用该线程自己的随机数生成器，调用线程之间不争用锁，
+ *       并计入 {@link Stats#underflows()}；</li>
+ *   <li>牌目录被替换后，池中基于旧目录的牌堆在取出时被丢弃，计入 {@link Stats#staleDecks()}；</li>
+ *   <li>取出的牌堆已经洗好，应搭配 {@link tarot.draw.strategy.PreShuffledDrawStrategy} 使用，避免再洗一次。</li>
+ * </ul>
+ * 调用 {@link #start()} 后才会启动生产线程，{@link #close()} 停止它们并等待其退出；
+ * 关闭时超时未退出的生产线程退出之前不能再次启动。
+ */
+public class DeckPool implements DeckFactory, AutoCloseable {
+
+  /** 队列已满时生产线程的休眠时间 */
+  private static final long FULL_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  /** 关闭时等待生产线程退出的最长时间 */
+  private static final long CLOSE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+  private final CardRepository cardRepository;
+  private final MpmcRing<Deck> ring;
+  private final int producerCount;
+  private final SplittableGenerator root;
+  private final RandomGeneratorProvider fallbackRandom;
+
+  private final LongAdder taken = new LongAdder();
+  private final LongAdder underflows = new LongAdder();
+  private final LongAdder staleDecks = new LongAdder();
+  private final LongAdder produced = new LongAdder();
+  private final LongAdder produceNanos = new LongAdder();
+  private final LongAccumulator maxProduceNanos = new LongAccumulator(Long::max, 0);
+
+  private final List<Thread> producers = new ArrayList<>();
+  private volatile boolean running;
+
+  /**
+   * @param cardRepository 牌数据来源，建议使用带缓存的仓储
+   * @param capacity 池中最多保存的牌堆数
+   * @param producerCount 生产线程数
+   */
+  public DeckPool(CardRepository cardRepository, int capacity, int producerCount) {
+    this(cardRepository, capacity, producerCount, new SplittableRandom());
+  }
+
+  /**
+   * @param cardRepository 牌数据来源
+   * @param capacity 池中最多保存的牌堆数
+   * @param producerCount 生产线程数
+   * @param root 根随机数生成器，每个生产线程与下溢时的每个调用线程各拆分出自己的生成器
+   */
+  public DeckPool(
+      CardRepository cardRepository, int capacity, int producerCount, SplittableGenerator root) {
+    if (producerCount < 1) {
+      throw new IllegalArgumentException("生产线程数至少为1：" + producerCount);
+    }
+    this.cardRepository = cardRepository;
+    this.ring = new MpmcRing<>(capacity);
+    this.producerCount = producerCount;
+    this.root = root;
+    this.fallbackRandom = new SplittingRandomProvider(root.split());
+  }
+
+  /**
+   * 启动后台生产线程，重复调用无效果
+   *
+   * @return 当前牌堆池，便于链式调用
+   * @throws IllegalStateException 上次 {@link #close()} 超时，仍有生产线程未退出时抛出
+   */
+  public synchronized DeckPool start() {
+    if (running) {
+      return this;
+    }
+    // 旧线程只看 running 标志，此时再启动会让它们与新线程一起继续生产
+    producers.removeIf(producer -> !producer.isAlive());
+    if (!producers.isEmpty()) {
+      throw new IllegalStateException("上次关闭的生产线程尚未退出：" + producers);
+    }
+    running = true;
+    for (int i = 0; i < producerCount; i++) {
+      RandomGenerator random = root.split();
+      Thread producer = new Thread(() -> produceLoop(random), "tarot-deck-pool-" + i);
+      producer.setDaemon(true);
+      producer.start();
+      producers.add(producer);
+    }
+    return this;
+  }
+
+  /** 从池中取一副洗好的牌堆，池为空时当场洗牌 */
+  @Override
+  public Deck createStandardDeck() {
+    CardCatalog catalog = cardRepository.catalog();
+    Deck deck;
+    while ((deck = ring.poll()) != null) {
+      if (deck.getCatalog() == catalog) {
+        taken.increment();
+        return deck;
+      }
+      staleDecks.increment();
+    }
+    underflows.increment();
+    deck = new Deck(catalog);
+    deck.shuffle(fallbackRandom.current());
+    return deck;
+  }
+
+  /** 用过的牌堆不回收，直接换一副新洗好的牌堆 */
+  @Override
+  public Deck resetDeck(Deck deck) {
+    return createStandardDeck();
+  }
+
+  private void produceLoop(RandomGenerator random) {
+    while (running) {
+      if (ring.size() >= ring.capacity()) {
+        LockSupport.parkNanos(FULL_PARK_NANOS);
+        continue;
+      }
+      long start = System.nanoTime();
+      Deck deck = new Deck(cardRepository.catalog());
+      deck.shuffle(random);
+      long elapsed = System.nanoTime() - start;
+      produceNanos.add(elapsed);
+      maxProduceNanos.accumulate(elapsed);
+      produced.increment();
+      while (running && !ring.offer(deck)) {
+        LockSupport.parkNanos(FULL_PARK_NANOS);
+      }
+    }
+  }
+
+  /** 当前统计 */
+  public Stats stats() {
+    return new Stats(
+        ring.size(),
+        ring.capacity(),
+        taken.sum(),
+        underflows.sum(),
+        staleDecks.sum(),
+        produced.sum(),
+        produceNanos.sum(),
+        maxProduceNanos.get());
+  }
+
+  /**
+   * 停止生产线程并等待它们退出，池中剩余的牌堆仍可取用
+   *
+   * <p>所有线程共用{@link #CLOSE_TIMEOUT_NANOS}的等待时间，超时后不再等待；生产线程是守护线程，
+   * 不会阻止 JVM 退出。等待期间被中断时立即返回，并保留中断状态。未退出的线程仍会被记住，
+   * 在它们退出之前 {@link #start()} 会拒绝启动，再次调用本方法可以继续等待。
+   */
+  @Override
+  public synchronized void close() {
+    running = false;
+    for (Thread producer : producers) {
+      LockSupport.unpark(producer);
+    }
+    long deadline = System.nanoTime() + CLOSE_TIMEOUT_NANOS;
+    try {
+      for (Thread producer : producers) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          break;
+        }
+        TimeUnit.NANOSECONDS.timedJoin(producer, remaining);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      producers.removeIf(producer -> !producer.isAlive());
+    }
+  }
+
+  /**
+   * 牌堆池统计快照
+   *
+   * @param fillLevel 当前池中的牌堆数
+   * @param capacity 池容量
+   * @param taken 从池中直接取到的次数
+   * @param underflows 池为空而当场洗牌的次数
+   * @param staleDecks 因牌目录变化被丢弃的牌堆数
+   * @param produced 生产线程洗好的牌堆数
+   * @param totalProduceNanos 生产线程累计的建堆与洗牌耗时（纳秒）
+   * @param maxProduceNanos 单副牌堆的最大生产耗时（纳秒）
+   */
+  public record Stats(
+      int fillLevel,
+      int capacity,
+      long taken,
+      long underflows,
+      long staleDecks,
+      long produced,
+      long totalProduceNanos,
+      long maxProduceNanos) {
+
+    /** 下溢率，没有任何请求时为0 */
+    public double underflowRate() {
+      long total = taken + underflows;
+      return total == 0 ? 0 : (double) underflows / total;
+    }
+
+    /** 平均生产耗时（纳秒），尚未生产时为0 */
+    public double meanProduceNanos() {
+      return produced == 0 ? 0 : (double) totalProduceNanos / produced;
+    }
+  }
+}
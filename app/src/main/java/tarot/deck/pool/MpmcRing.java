@@ -0,0 +1,100 @@
+package tarot.deck.pool;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁多生产者多消费者环形队列（Vyukov 算法）。
+ *
+ * <p>每个槽位带一个序号：序号等于入队位置时可写，等于入队位置+1时可读；读走后序号前进一圈。
+ * 入队、出队各只对自己的位置计数器做一次 CAS，队列满或空时立即返回而不阻塞。
+ *
+ * @param <E> 元素类型
+ */
+final class MpmcRing<E> {
+
+  private final int mask;
+  private final AtomicLongArray sequences;
+  private final AtomicReferenceArray<E> slots;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong head = new AtomicLong();
+
+  /**
+   * @param capacity 容量，向上取整为2的幂
+   */
+  MpmcRing(int capacity) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("容量不合法：" + capacity);
+    }
+    int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.mask = size - 1;
+    this.sequences = new AtomicLongArray(size);
+    this.slots = new AtomicReferenceArray<>(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * 入队
+   *
+   * @param element 非空元素
+   * @return 队列已满时为 {@code false}
+   */
+  boolean offer(E element) {
+    long pos = tail.get();
+    while (true) {
+      int index = (int) pos & mask;
+      long diff = sequences.get(index) - pos;
+      if (diff == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          slots.lazySet(index, element);
+          sequences.set(index, pos + 1);
+          return true;
+        }
+        pos = tail.get();
+      } else if (diff < 0) {
+        return false;
+      } else {
+        pos = tail.get();
+      }
+    }
+  }
+
+  /**
+   * 出队
+   *
+   * @return 队列为空时为 {@code null}
+   */
+  E poll() {
+    long pos = head.get();
+    while (true) {
+      int index = (int) pos & mask;
+      long diff = sequences.get(index) - (pos + 1);
+      if (diff == 0) {
+        if (head.compareAndSet(pos, pos + 1)) {
+          E element = slots.get(index);
+          slots.lazySet(index, null);
+          sequences.set(index, pos + mask + 1);
+          return element;
+        }
+        pos = head.get();
+      } else if (diff < 0) {
+        return null;
+      } else {
+        pos = head.get();
+      }
+    }
+  }
+
+  /** 近似的元素个数，并发修改时只作为指标使用 */
+  int size() {
+    long size = tail.get() - head.get();
+    return (int) Math.max(0, Math.min(size, capacity()));
+  }
+
+  int capacity() {
+    return mask + 1;
+  }
+}
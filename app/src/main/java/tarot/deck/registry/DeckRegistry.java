@@ -0,0 +1,233 @@
+package tarot.deck.registry;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import tarot.domain.CardCatalog;
+import tarot.domain.TarotCard;
+import tarot.repository.BinaryCardRepository;
+import tarot.repository.CardRepository;
+
+/**
+ * 多牌组注册表：按牌组id登记数据来源，首次使用时才加载并缓存对应的牌目录。
+ *
+ * <ul>
+ *   <li>注册只登记数据来源（任意 {@link CardRepository}），不会读取数据；
+ *   <li>已加载的牌目录保存在容量有限的LRU缓存中，超出容量时淘汰最久未使用的牌组，再次使用时重新加载；
+ *   <li>通过 {@link #stats()} 可以查看命中、未命中、加载次数与累计加载耗时。
+ * </ul>
+ *
+ * 本类线程安全；加载在锁外进行，一个牌组的加载不会阻塞其他牌组的读取。同一次登记的并发未命中只加载一次，
+ * 其余调用方等待这次加载的结果。加载完成后只有当该牌组的登记仍是加载开始时的那一次登记时才放入缓存，
+ * 加载期间被重新登记的牌组不会被旧数据覆盖。
+ */
+public class DeckRegistry {
+
+  /** 内置的标准韦特塔罗牌组 */
+  public static final String RIDER_WAITE = "rider-waite";
+
+  private final Map<String, Registration> sources = new ConcurrentHashMap<>();
+  private final Map<String, CardCatalog> loaded;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder loads = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder loadNanos = new LongAdder();
+
+  /**
+   * 创建空的注册表
+   *
+   * @param maxLoaded 同时保留在内存中的牌组数量上限，至少为1
+   */
+  public DeckRegistry(int maxLoaded) {
+    if (maxLoaded < 1) {
+      throw new IllegalArgumentException("牌组缓存容量至少为1，实际：" + maxLoaded);
+    }
+    this.loaded =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, CardCatalog> eldest) {
+            if (size() > maxLoaded) {
+              evictions.increment();
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  /**
+   * 创建已登记内置牌组（{@link #RIDER_WAITE}）的注册表
+   *
+   * @param maxLoaded 同时保留在内存中的牌组数量上限
+   * @return 新的注册表
+   */
+  public static DeckRegistry withBuiltInDecks(int maxLoaded) {
+    DeckRegistry registry = new DeckRegistry(maxLoaded);
+    registry.register(RIDER_WAITE, new BinaryCardRepository());
+    return registry;
+  }
+
+  /**
+   * 登记或替换一个牌组的数据来源，已缓存的旧牌目录会被丢弃
+   *
+   * @param deckId 牌组id，例如「marseille」或用户自定义牌组的名称
+   * @param source 数据来源，仅在首次使用时调用
+   */
+  public void register(String deckId, CardRepository source) {
+    sources.put(deckId, new Registration(source, new AtomicReference<>()));
+    synchronized (loaded) {
+      loaded.remove(deckId);
+    }
+  }
+
+  /** 已登记的牌组id */
+  public Set<String> deckIds() {
+    return Set.copyOf(sources.keySet());
+  }
+
+  /**
+   * 返回牌组的牌目录，未加载时同步加载；同一牌组正在加载时等待该次加载完成
+   *
+   * @param deckId 牌组id
+   * @return 不可变的牌目录
+   * @throws IllegalArgumentException 牌组未登记时抛出
+   */
+  public CardCatalog catalog(String deckId) {
+    CardCatalog cached = cached(deckId);
+    if (cached != null) {
+      hits.increment();
+      return cached;
+    }
+
+    Registration registration = sources.get(deckId);
+    if (registration == null) {
+      throw new IllegalArgumentException("未登记的牌组：" + deckId);
+    }
+    misses.increment();
+    CompletableFuture<CardCatalog> load = new CompletableFuture<>();
+    CompletableFuture<CardCatalog> pending = registration.loading().compareAndExchange(null, load);
+    if (pending != null) {
+      return join(pending);
+    }
+
+    try {
+      // 抢到加载权之前，上一次加载可能刚好放入缓存
+      CardCatalog catalog = cached(deckId);
+      if (catalog == null) {
+        catalog = load(deckId, registration);
+      }
+      load.complete(catalog);
+      return catalog;
+    } catch (RuntimeException | Error e) {
+      load.completeExceptionally(e);
+      throw e;
+    } finally {
+      registration.loading().set(null);
+    }
+  }
+
+  private CardCatalog cached(String deckId) {
+    synchronized (loaded) {
+      return loaded.get(deckId);
+    }
+  }
+
+  private CardCatalog load(String deckId, Registration registration) {
+    long start = System.nanoTime();
+    CardCatalog catalog = CardCatalog.of(registration.source().findAll());
+    loadNanos.add(System.nanoTime() - start);
+    loads.increment();
+
+    synchronized (loaded) {
+      if (sources.get(deckId) != registration) {
+        // 加载期间牌组被重新登记，本次结果只返回给等待这次登记的调用方，不放入缓存
+        return catalog;
+      }
+      loaded.put(deckId, catalog);
+      return catalog;
+    }
+  }
+
+  /** 等待其他调用方的加载，加载失败时抛出原异常 */
+  private static CardCatalog join(CompletableFuture<CardCatalog> pending) {
+    try {
+      return pending.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * 以 {@link CardRepository} 的形式访问某个牌组，可直接交给 {@code StandardTarotDeckFactory} 使用
+   *
+   * @param deckId 牌组id
+   * @return 每次调用都经过注册表缓存的仓储视图
+   */
+  public CardRepository repository(String deckId) {
+    return new CardRepository() {
+      @Override
+      public List<TarotCard> findAll() {
+        return DeckRegistry.this.catalog(deckId).getCards();
+      }
+
+      @Override
+      public CardCatalog catalog() {
+        return DeckRegistry.this.catalog(deckId);
+      }
+    };
+  }
+
+  /** 当前的缓存统计 */
+  public Stats stats() {
+    int size;
+    synchronized (loaded) {
+      size = loaded.size();
+    }
+    return new Stats(
+        hits.sum(), misses.sum(), loads.sum(), evictions.sum(), loadNanos.sum(), size);
+  }
+
+  /**
+   * 一次登记，每次 {@link #register} 都创建新实例，用于识别加载期间的重新登记
+   *
+   * @param source 数据来源
+   * @param loading 正在进行的加载，没有时为 null
+   */
+  private record Registration(
+      CardRepository source, AtomicReference<CompletableFuture<CardCatalog>> loading) {
+  }
+
+  /**
+   * 缓存统计快照
+   *
+   * @param hits 命中次数
+   * @param misses 未命中次数（不含未登记的牌组id）
+   * @param loads 实际加载次数
+   * @param evictions 淘汰次数
+   * @param totalLoadNanos 累计加载耗时（纳秒）
+   * @param loadedDecks 当前缓存中的牌组数
+   */
+  public record Stats(
+      long hits, long misses, long loads, long evictions, long totalLoadNanos, int loadedDecks) {
+
+    /** 命中率，没有任何请求时为0 */
+    public double hitRate() {
+      long total = hits + misses;
+      return total == 0 ? 0 : (double) hits / total;
+    }
+  }
+}
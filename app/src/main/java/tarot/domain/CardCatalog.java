@@ -0,0 +1,294 @@
+package tarot.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * 不可变的牌目录：为每张牌分配稳定序号（ordinal），并预先生成所有可能的{@link DrawnCard}享元。
+ *
+ * <p>一张抽到的牌可以用一个紧凑编码表示：{@code code = ordinal << 1 | (reversed ? 1 : 0)}，
+ * 标准78张牌共有156种编码，对应156个共享的{@link DrawnCard}实例，抽牌时无需再为每张牌分配对象。
+ *
+ * <p>构建时同时生成按id、花色、阿尔卡纳以及花色+序号的索引和标准的{@link SubDeckTemplate 子牌堆模板}，
+ * 每个牌目录快照只构建一次，查询无需扫描全部牌。花色+序号索引对 0~255
+ * 的常规序号用数组直接寻址，其余序号放入哈希表，个别异常的大序号不会导致巨大的数组。
+ */
+public final class CardCatalog {
+
+  /** 编码需放入short，因此牌目录最多容纳的牌数 */
+  public static final int MAX_SIZE = Short.MAX_VALUE >> 1;
+
+  /** 花色+序号索引中用数组直接寻址的最大牌面序号，超出范围（包括负数）的序号改用哈希表 */
+  static final int MAX_DENSE_NUMBER = 255;
+
+  private final TarotCard[] cards;
+  private final DrawnCard[] drawnCards;
+  private final List<TarotCard> cardList;
+  private final Map<String, Integer> ordinalById;
+  private final Map<Suit, List<TarotCard>> bySuit;
+  private final Map<Arcana, List<TarotCard>> byArcana;
+  private final TarotCard[][] bySuitAndNumber;
+  private final Map<Long, TarotCard> bySuitAndSparseNumber;
+  private final Map<String, SubDeckTemplate> templates;
+  private final int fingerprint;
+
+  private CardCatalog(TarotCard[] cards) {
+    this.cards = cards;
+    this.drawnCards = new DrawnCard[cards.length << 1];
+    for (int i = 0; i < cards.length; i++) {
+      drawnCards[encode(i, false)] = new DrawnCard(cards[i], false);
+      drawnCards[encode(i, true)] = new DrawnCard(cards[i], true);
+    }
+    this.cardList = Collections.unmodifiableList(Arrays.asList(cards));
+
+    this.ordinalById = new HashMap<>(cards.length * 2);
+    Map<Suit, List<TarotCard>> suits = new EnumMap<>(Suit.class);
+    Map<Arcana, List<TarotCard>> arcanas = new EnumMap<>(Arcana.class);
+    int[] maxNumber = new int[Suit.values().length];
+    Arrays.fill(maxNumber, -1);
+    for (TarotCard card : cards) {
+      ordinalById.putIfAbsent(card.getId(), card.getOrdinal());
+      suits.computeIfAbsent(card.getSuit(), key -> new ArrayList<>()).add(card);
+      arcanas.computeIfAbsent(card.getArcana(), key -> new ArrayList<>()).add(card);
+      if (isDense(card.getNumber())) {
+        int suit = card.getSuit().ordinal();
+        maxNumber[suit] = Math.max(maxNumber[suit], card.getNumber());
+      }
+    }
+    this.bySuit = freeze(suits, Suit.values());
+    this.byArcana = freeze(arcanas, Arcana.values());
+
+    this.bySuitAndNumber = new TarotCard[maxNumber.length][];
+    for (int suit = 0; suit < maxNumber.length; suit++) {
+      bySuitAndNumber[suit] = new TarotCard[maxNumber[suit] + 1];
+    }
+    Map<Long, TarotCard> sparse = new HashMap<>();
+    for (TarotCard card : cards) {
+      if (isDense(card.getNumber())) {
+        TarotCard[] numbers = bySuitAndNumber[card.getSuit().ordinal()];
+        if (numbers[card.getNumber()] == null) {
+          numbers[card.getNumber()] = card;
+        }
+      } else {
+        sparse.putIfAbsent(sparseKey(card.getSuit(), card.getNumber()), card);
+      }
+    }
+    this.bySuitAndSparseNumber = Map.copyOf(sparse);
+
+    Map<String, SubDeckTemplate> standard = new HashMap<>();
+    addTemplate(standard, SubDeckTemplate.FULL, card -> true);
+    addTemplate(standard, SubDeckTemplate.MAJORS, card -> card.getArcana() == Arcana.MAJOR);
+    addTemplate(standard, SubDeckTemplate.MINORS, card -> card.getArcana() == Arcana.MINOR);
+    addTemplate(standard, SubDeckTemplate.WANDS, card -> card.getSuit() == Suit.WANDS);
+    addTemplate(standard, SubDeckTemplate.CUPS, card -> card.getSuit() == Suit.CUPS);
+    addTemplate(standard, SubDeckTemplate.SWORDS, card -> card.getSuit() == Suit.SWORDS);
+    addTemplate(standard, SubDeckTemplate.PENTACLES, card -> card.getSuit() == Suit.PENTACLES);
+    this.templates = Map.copyOf(standard);
+
+    int hash = cards.length;
+    for (TarotCard card : cards) {
+      hash = 31 * hash + card.getId().hashCode();
+    }
+    this.fingerprint = hash;
+  }
+
+  private static boolean isDense(int number) {
+    return number >= 0 && number <= MAX_DENSE_NUMBER;
+  }
+
+  private static long sparseKey(Suit suit, int number) {
+    return (long) suit.ordinal() << 32 | (number & 0xFFFFFFFFL);
+  }
+
+  private void addTemplate(
+      Map<String, SubDeckTemplate> target, String name, Predicate<TarotCard> filter) {
+    target.put(name, SubDeckTemplate.of(name, this, CardMask.matching(this, filter)));
+  }
+
+  private static <K extends Enum<K>> Map<K, List<TarotCard>> freeze(
+      Map<K, List<TarotCard>> index, K[] keys) {
+    for (K key : keys) {
+      index.put(key, List.copyOf(index.getOrDefault(key, List.of())));
+    }
+    return Collections.unmodifiableMap(index);
+  }
+
+  /**
+   * 以给定顺序创建牌目录，列表下标即为牌的序号
+   *
+   * @param cards 牌定义列表
+   * @return 新的牌目录
+   */
+  public static CardCatalog of(List<TarotCard> cards) {
+    if (cards.size() > MAX_SIZE) {
+      throw new IllegalArgumentException("牌目录最多支持 " + MAX_SIZE + " 张牌，实际：" + cards.size());
+    }
+    TarotCard[] indexed = new TarotCard[cards.size()];
+    for (int i = 0; i < indexed.length; i++) {
+      TarotCard card = cards.get(i);
+      indexed[i] =
+          card.getOrdinal() == i
+              ? card
+              : new TarotCard(
+                  card.getId(), card.getName(), card.getArcana(), card.getSuit(), card.getNumber(), i);
+    }
+    return new CardCatalog(indexed);
+  }
+
+  /**
+   * 将序号与正/逆位打包为一个编码
+   *
+   * @param ordinal 牌的序号
+   * @param reversed 是否逆位
+   * @return 打包后的编码
+   */
+  public static int encode(int ordinal, boolean reversed) {
+    return ordinal << 1 | (reversed ? 1 : 0);
+  }
+
+  /** 从编码中取出牌的序号 */
+  public static int ordinalOf(int code) {
+    return code >>> 1;
+  }
+
+  /** 从编码中取出是否逆位 */
+  public static boolean isReversed(int code) {
+    return (code & 1) != 0;
+  }
+
+  /** 牌目录中的牌数 */
+  public int size() {
+    return cards.length;
+  }
+
+  /**
+   * 按序号取牌
+   *
+   * @param ordinal 序号
+   * @return 对应的牌
+   */
+  public TarotCard get(int ordinal) {
+    return cards[ordinal];
+  }
+
+  /**
+   * 按序号排列的所有牌的只读列表
+   *
+   * @return 不可修改列表
+   */
+  public List<TarotCard> getCards() {
+    return cardList;
+  }
+
+  /**
+   * 牌目录指纹：由牌数与按序号排列的id计算，用于判断持久化的牌堆状态是否仍属于当前牌目录
+   *
+   * @return 指纹值
+   */
+  public int fingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * 按id查找牌的序号
+   *
+   * @param id 牌的唯一标识
+   * @return 序号，不存在时为-1
+   */
+  public int ordinalOf(String id) {
+    Integer ordinal = ordinalById.get(id);
+    return ordinal == null ? -1 : ordinal;
+  }
+
+  /**
+   * 按id查找牌
+   *
+   * @param id 牌的唯一标识
+   * @return 对应的牌，不存在时为空
+   */
+  public Optional<TarotCard> findById(String id) {
+    int ordinal = ordinalOf(id);
+    return ordinal < 0 ? Optional.empty() : Optional.of(cards[ordinal]);
+  }
+
+  /**
+   * 某一花色的所有牌，按序号顺序排列
+   *
+   * @param suit 花色，大阿尔卡纳为{@link Suit#NONE}
+   * @return 不可修改列表，可能为空
+   */
+  public List<TarotCard> findBySuit(Suit suit) {
+    return bySuit.get(suit);
+  }
+
+  /**
+   * 某一阿尔卡纳类型的所有牌，按序号顺序排列
+   *
+   * @param arcana 大/小阿尔卡纳
+   * @return 不可修改列表，可能为空
+   */
+  public List<TarotCard> findByArcana(Arcana arcana) {
+    return byArcana.get(arcana);
+  }
+
+  /**
+   * 按花色与牌面序号查找牌，例如{@code (CUPS, 2)}即圣杯二
+   *
+   * @param suit 花色
+   * @param number 牌面序号
+   * @return 对应的牌，不存在时为空
+   */
+  public Optional<TarotCard> findBySuitAndNumber(Suit suit, int number) {
+    if (!isDense(number)) {
+      return Optional.ofNullable(bySuitAndSparseNumber.get(sparseKey(suit, number)));
+    }
+    TarotCard[] numbers = bySuitAndNumber[suit.ordinal()];
+    if (number >= numbers.length) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(numbers[number]);
+  }
+
+  /**
+   * 按名称取预先构建的标准子牌堆模板
+   *
+   * @param name 模板名称，见{@link SubDeckTemplate#MAJORS}等常量
+   * @return 模板
+   * @throws IllegalArgumentException 名称未知时抛出
+   */
+  public SubDeckTemplate template(String name) {
+    SubDeckTemplate template = templates.get(name);
+    if (template == null) {
+      throw new IllegalArgumentException("未知的子牌堆模板：" + name);
+    }
+    return template;
+  }
+
+  /**
+   * 返回共享的抽牌结果享元
+   *
+   * @param ordinal 序号
+   * @param reversed 是否逆位
+   * @return 共享的DrawnCard实例
+   */
+  public DrawnCard drawn(int ordinal, boolean reversed) {
+    return drawnCards[encode(ordinal, reversed)];
+  }
+
+  /**
+   * 按打包编码返回共享的抽牌结果享元
+   *
+   * @param code 见{@link #encode(int, boolean)}
+   * @return 共享的DrawnCard实例
+   */
+  public DrawnCard drawn(int code) {
+    return drawnCards[code];
+  }
+}
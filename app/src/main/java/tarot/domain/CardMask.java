@@ -0,0 +1,131 @@
+package tarot.domain;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * 不可变的牌掩码：第 i 位表示序号为 i 的牌是否入选。
+ *
+ * <p>标准78张牌只需两个 {@code long}（128位），更大的自定义牌组按需扩展。
+ */
+public final class CardMask {
+
+  private final long[] words;
+
+  private CardMask(long[] words) {
+    this.words = words;
+  }
+
+  /**
+   * 由序号列表创建掩码
+   *
+   * @param ordinals 入选牌的序号
+   * @return 新的掩码
+   */
+  public static CardMask of(int... ordinals) {
+    int max = -1;
+    for (int ordinal : ordinals) {
+      if (ordinal < 0) {
+        throw new IllegalArgumentException("序号不能为负：" + ordinal);
+      }
+      max = Math.max(max, ordinal);
+    }
+    long[] words = new long[(max >> 6) + 1];
+    for (int ordinal : ordinals) {
+      words[ordinal >> 6] |= 1L << ordinal;
+    }
+    return new CardMask(words);
+  }
+
+  /**
+   * 选出牌目录中满足条件的牌
+   *
+   * @param catalog 牌目录
+   * @param filter 筛选条件
+   * @return 新的掩码
+   */
+  public static CardMask matching(CardCatalog catalog, Predicate<TarotCard> filter) {
+    long[] words = new long[(catalog.size() + 63) >> 6];
+    for (int i = 0; i < catalog.size(); i++) {
+      if (filter.test(catalog.get(i))) {
+        words[i >> 6] |= 1L << i;
+      }
+    }
+    return new CardMask(words);
+  }
+
+  /** 序号为 ordinal 的牌是否入选 */
+  public boolean contains(int ordinal) {
+    int word = ordinal >> 6;
+    return ordinal >= 0 && word < words.length && (words[word] & 1L << ordinal) != 0;
+  }
+
+  /** 入选的牌数 */
+  public int cardinality() {
+    int count = 0;
+    for (long word : words) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /** 两个掩码的并集 */
+  public CardMask or(CardMask other) {
+    long[] result = Arrays.copyOf(words, Math.max(words.length, other.words.length));
+    for (int i = 0; i < other.words.length; i++) {
+      result[i] |= other.words[i];
+    }
+    return new CardMask(result);
+  }
+
+  /** 两个掩码的交集 */
+  public CardMask and(CardMask other) {
+    long[] result = Arrays.copyOf(words, Math.min(words.length, other.words.length));
+    for (int i = 0; i < result.length; i++) {
+      result[i] &= other.words[i];
+    }
+    return new CardMask(result);
+  }
+
+  /**
+   * 按序号从小到大列出入选的牌
+   *
+   * @return 新数组
+   */
+  public int[] toOrdinals() {
+    int[] ordinals = new int[cardinality()];
+    int n = 0;
+    for (int w = 0; w < words.length; w++) {
+      long word = words[w];
+      while (word != 0) {
+        ordinals[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+        word &= word - 1;
+      }
+    }
+    return ordinals;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof CardMask other)) {
+      return false;
+    }
+    for (int i = 0; i < Math.max(words.length, other.words.length); i++) {
+      long a = i < words.length ? words[i] : 0;
+      long b = i < other.words.length ? other.words[i] : 0;
+      if (a != b) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int length = words.length;
+    while (length > 0 && words[length - 1] == 0) {
+      length--;
+    }
+    return Arrays.hashCode(Arrays.copyOf(words, length));
+  }
+}
@@ -1,26 +1,67 @@
 package tarot.domain;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
-/** 牌堆：代表当前可用的塔罗牌集合 */
+/**
+ * 牌堆：代表当前可用的塔罗牌集合
+ *
+ * <p>内部以不可变的{@link CardCatalog} + 基本类型排列数组 {@code order} + 游标 {@code cursor} 表示：
+ * {@code order[cursor..size)} 为剩余牌的序号，{@code cursor} 处即为牌堆顶。抽牌只移动游标，不再移动整副牌。
+ * 另有反向索引 {@code position}，记录每个序号当前在 {@code order} 中的下标，用于按序号抽走指定的牌。
+ */
 public class Deck {
 
-  private final List<TarotCard> cards;
+  private final CardCatalog catalog;
+  private final int[] order;
+  private final int[] position;
+  private int[] scratch;
+  private long[] seen;
+  private int limit;
+  private int cursor;
 
   public Deck(List<TarotCard> cards) {
-    this.cards = new ArrayList<>(cards);
+    this(CardCatalog.of(cards));
+  }
+
+  public Deck(CardCatalog catalog) {
+    this.catalog = catalog;
+    this.order = new int[catalog.size()];
+    this.position = new int[catalog.size()];
+    reset();
   }
 
   /**
-   * 返回当前牌的只读列表视图
+   * 牌堆所使用的牌目录
+   *
+   * @return
+   */
+  public CardCatalog getCatalog() {
+    return catalog;
+  }
+
+  /**
+   * 返回当前剩余牌的只读列表视图，顺序即从牌堆顶开始
    *
    * @return
    */
   public List<TarotCard> getCards() {
-    return Collections.unmodifiableList(cards);
+    return new AbstractList<>() {
+      @Override
+      public TarotCard get(int index) {
+        if (index < 0 || index >= size()) {
+          throw new IndexOutOfBoundsException(index);
+        }
+        return catalog.get(order[cursor + index]);
+      }
+
+      @Override
+      public int size() {
+        return Deck.this.size();
+      }
+    };
   }
 
   /**
@@ -29,16 +70,34 @@ public class Deck {
    * @return
    */
   public int size() {
-    return cards.size();
+    return limit - cursor;
   }
 
   /**
-   * 使用给定的Random对牌堆进行洗牌
+   * 使用给定的随机数生成器对剩余的牌进行洗牌（Fisher–Yates）
    *
    * @param random
    */
-  public void shuffle(Random random) {
-    Collections.shuffle(cards, random);
+  public void shuffle(RandomGenerator random) {
+    for (int i = limit - 1; i > cursor; i--) {
+      swap(i, cursor + random.nextInt(i - cursor + 1));
+    }
+  }
+
+  /**
+   * 只打乱牌堆顶的count张牌：执行count步 Fisher–Yates 洗牌，开销为 O(count)
+   *
+   * <p>打乱后牌堆顶count张牌的分布与整副洗牌后相同，其余的牌不保证被打乱。
+   *
+   * @param count 需要打乱的张数，超过剩余牌数时按剩余牌数处理
+   * @param random 随机数生成器
+   */
+  public void shuffleTop(int count, RandomGenerator random) {
+    int n = size();
+    int steps = Math.min(count, n - 1);
+    for (int i = 0; i < steps; i++) {
+      swap(cursor + i, cursor + i + random.nextInt(n - i));
+    }
   }
 
   /**
@@ -47,11 +106,106 @@ public class Deck {
    * @return
    */
   public TarotCard drawTop() {
+    return catalog.get(drawTopOrdinal());
+  }
+
+  /**
+   * 从牌堆顶移除一张牌并返回其序号
+   *
+   * @return 牌在{@link #getCatalog()}中的序号
+   */
+  public int drawTopOrdinal() {
+    if (isEmpty()) {
+      throw new IllegalStateException("牌堆已空，无法再抽牌");
+    }
+    return order[cursor++];
+  }
 
-    if (cards.isEmpty()) {
+  /**
+   * 从剩余的牌中等概率随机移除一张牌并返回。
+   *
+   * <p>相当于只执行 Fisher–Yates 洗牌的一步：把随机选中的牌换到牌堆顶后再抽走，开销为 O(1)。
+   *
+   * @param random 随机数生成器
+   * @return 抽到的牌
+   */
+  public TarotCard drawRandom(RandomGenerator random) {
+    return catalog.get(drawRandomOrdinal(random));
+  }
+
+  /**
+   * 同{@link #drawRandom(RandomGenerator)}，但只返回牌的序号
+   *
+   * @param random 随机数生成器
+   * @return 牌在{@link #getCatalog()}中的序号
+   */
+  public int drawRandomOrdinal(RandomGenerator random) {
+    if (isEmpty()) {
       throw new IllegalStateException("牌堆已空，无法再抽牌");
     }
-    return cards.remove(0);
+    swap(cursor, cursor + random.nextInt(size()));
+    return order[cursor++];
+  }
+
+  /**
+   * 剩余的牌中是否包含给定序号的牌
+   *
+   * @param ordinal 牌在{@link #getCatalog()}中的序号
+   * @return
+   */
+  public boolean contains(int ordinal) {
+    if (ordinal < 0 || ordinal >= position.length) {
+      return false;
+    }
+    int index = position[ordinal];
+    return index >= cursor && index < limit;
+  }
+
+  /**
+   * 从剩余的牌中抽走指定序号的牌：把它换到牌堆顶后移动游标，开销为 O(1)
+   *
+   * @param ordinal 牌在{@link #getCatalog()}中的序号
+   * @throws IllegalArgumentException 牌不在剩余的牌中时抛出
+   */
+  public void drawOrdinal(int ordinal) {
+    if (!contains(ordinal)) {
+      throw new IllegalArgumentException("牌堆中没有序号为 " + ordinal + " 的牌");
+    }
+    swap(cursor, position[ordinal]);
+    cursor++;
+  }
+
+  /**
+   * 按位置排列原地重排剩余的牌：重排后从牌堆顶数第 i 张是原来的第 {@code positions[i] & 0xFF} 张。
+   *
+   * <p>位置以无符号字节表示，因此只适用于剩余不超过256张牌的牌堆，例如物理洗牌模拟。
+   *
+   * @param positions 前{@link #size()}个元素必须是 0..size()-1 的一个排列
+   * @throws IllegalArgumentException 剩余牌数超过256或不是合法排列时抛出
+   */
+  public void permuteRemaining(byte[] positions) {
+    int n = size();
+    if (n > 256 || positions.length < n) {
+      throw new IllegalArgumentException("位置排列长度不合法：" + positions.length + "，剩余牌数：" + n);
+    }
+    if (scratch == null) {
+      scratch = new int[order.length];
+      seen = new long[4];
+    }
+    Arrays.fill(seen, 0);
+    for (int i = 0; i < n; i++) {
+      int p = positions[i] & 0xFF;
+      if (p >= n || (seen[p >> 6] & 1L << p) != 0) {
+        throw new IllegalArgumentException("位置排列包含越界或重复的位置：" + p);
+      }
+      seen[p >> 6] |= 1L << p;
+    }
+    System.arraycopy(order, cursor, scratch, 0, n);
+    for (int i = 0; i < n; i++) {
+      int ordinal = scratch[positions[i] & 0xFF];
+      order[cursor + i] = ordinal;
+      position[ordinal] = cursor + i;
+    }
   }
 
   /**
@@ -60,6 +214,94 @@ public class Deck {
    * @return
    */
   public boolean isEmpty() {
-    return cards.isEmpty();
+    return cursor == limit;
+  }
+
+  /** 原地把牌堆恢复为牌目录中的完整顺序，不重新加载牌数据，也不分配新对象 */
+  public void reset() {
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+      position[i] = i;
+    }
+    limit = order.length;
+    cursor = 0;
+  }
+
+  /**
+   * 把自上次重置以来抽走的牌放回牌堆顶，只移动游标，开销为 O(1)
+   *
+   * <p>抽走的牌仍保留在游标之前，因此不需要逐张恢复；放回后剩余的牌与重置时相同，
+   * 但顺序是抽牌过程留下的顺序，不会恢复为牌目录中的顺序。
+   */
+  public void returnDrawn() {
+    cursor = 0;
+  }
+
+  /**
+   * 原地把牌堆恢复为子牌堆模板中的牌，只复制模板预先算好的序号，不做任何筛选
+   *
+   * @param template 与本牌堆使用同一牌目录的模板
+   */
+  public void reset(SubDeckTemplate template) {
+    if (template.getCatalog() != catalog) {
+      throw new IllegalArgumentException("子牌堆模板与牌堆不属于同一牌目录");
+    }
+    template.copyOrdinalsTo(order);
+    limit = template.size();
+    cursor = 0;
+    reindex();
+  }
+
+  /**
+   * 把剩余牌的序号按从牌堆顶开始的顺序复制到目标数组开头
+   *
+   * @param target 长度不小于{@link #size()}的数组
+   * @return 复制的牌数
+   */
+  public int copyRemainingTo(int[] target) {
+    int count = size();
+    System.arraycopy(order, cursor, target, 0, count);
+    return count;
+  }
+
+  /**
+   * 原地把牌堆恢复为给定的剩余牌顺序，通常用于从持久化的状态中恢复
+   *
+   * @param ordinals 剩余牌的序号，下标0为牌堆顶
+   * @param count 剩余牌数
+   * @throws IllegalArgumentException 序号越界或重复时抛出
+   */
+  public void restoreRemaining(int[] ordinals, int count) {
+    if (count < 0 || count > order.length) {
+      throw new IllegalArgumentException("剩余牌数不合法：" + count);
+    }
+    boolean[] seen = new boolean[order.length];
+    for (int i = 0; i < count; i++) {
+      int ordinal = ordinals[i];
+      if (ordinal < 0 || ordinal >= order.length || seen[ordinal]) {
+        throw new IllegalArgumentException("牌堆状态包含非法或重复的序号：" + ordinal);
+      }
+      seen[ordinal] = true;
+    }
+    System.arraycopy(ordinals, 0, order, 0, count);
+    limit = count;
+    cursor = 0;
+    reindex();
+  }
+
+  /** 根据 {@code order[0..limit)} 重建反向索引，不在牌堆中的牌记为-1 */
+  private void reindex() {
+    Arrays.fill(position, -1);
+    for (int i = 0; i < limit; i++) {
+      position[order[i]] = i;
+    }
+  }
+
+  private void swap(int i, int j) {
+    int tmp = order[i];
+    order[i] = order[j];
+    order[j] = tmp;
+    position[order[i]] = i;
+    position[tmp] = j;
   }
 }
@@ -14,7 +14,21 @@ public class DrawResult {
     this.timestamp = timestamp;
   }
 
+  /**
+   * 以紧凑编码保存抽牌结果
+   *
+   * @param catalog 编码所属的牌目录
+   * @param codes 编码数组，见{@link CardCatalog#encode(int, boolean)}
+   * @param timestamp 抽牌时间
+   */
+  public DrawResult(CardCatalog catalog, short[] codes, Instant timestamp) {
+    this(new PackedDrawnCards(catalog, codes), timestamp);
+  }
+
   public List<DrawnCard> getDrawnCards() {
+    if (drawnCards instanceof PackedDrawnCards) {
+      return drawnCards;
+    }
     return Collections.unmodifiableList(drawnCards);
   }
 
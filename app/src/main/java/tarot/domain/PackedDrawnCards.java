@@ -0,0 +1,74 @@
+package tarot.domain;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * 以紧凑编码保存的抽牌结果列表。
+ *
+ * <p>内部只保存一个{@code short[]}编码数组（见{@link CardCatalog#encode(int, boolean)}），
+ * {@link #get(int)}返回牌目录中共享的{@link DrawnCard}享元，因此本列表本身是只读视图。
+ * 也可以只引用一个更大编码数组中的一段（例如批量抽牌结果中的某一次占卜），不复制数据。
+ * 构造后调用方不应再修改传入的编码数组。
+ */
+public final class PackedDrawnCards extends AbstractList<DrawnCard> implements RandomAccess {
+
+  private final CardCatalog catalog;
+  private final short[] codes;
+  private final int offset;
+  private final int length;
+
+  public PackedDrawnCards(CardCatalog catalog, short[] codes) {
+    this(catalog, codes, 0, codes.length);
+  }
+
+  /**
+   * 引用编码数组中的一段
+   *
+   * @param catalog 编码所属的牌目录
+   * @param codes 编码数组
+   * @param offset 起始下标
+   * @param length 牌数
+   */
+  public PackedDrawnCards(CardCatalog catalog, short[] codes, int offset, int length) {
+    if (offset < 0 || length < 0 || offset + length > codes.length) {
+      throw new IndexOutOfBoundsException("编码范围越界：" + offset + "+" + length);
+    }
+    this.catalog = catalog;
+    this.codes = codes;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  @Override
+  public DrawnCard get(int index) {
+    return catalog.drawn(codes[offset + checkIndex(index)]);
+  }
+
+  @Override
+  public int size() {
+    return length;
+  }
+
+  /** 第index张牌的序号 */
+  public int ordinalAt(int index) {
+    return CardCatalog.ordinalOf(codes[offset + checkIndex(index)]);
+  }
+
+  /** 第index张牌是否逆位 */
+  public boolean isReversedAt(int index) {
+    return CardCatalog.isReversed(codes[offset + checkIndex(index)]);
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return index;
+  }
+
+  /** 所属的牌目录 */
+  public CardCatalog getCatalog() {
+    return catalog;
+  }
+}
@@ -0,0 +1,80 @@
+package tarot.domain;
+
+/**
+ * 子牌堆模板：从某个牌目录中按 {@link CardMask} 选出的一组牌，例如「只用大阿尔卡纳」「只用圣杯」。
+ *
+ * <p>入选牌的序号在创建时一次性算好，{@link Deck#reset(SubDeckTemplate)} 只需把它们复制进牌堆已有的排列数组，
+ * 每次占卜都不再筛选牌或创建新的牌堆。标准模板由 {@link CardCatalog#template(String)} 提供，每个牌目录只构建一次。
+ */
+public final class SubDeckTemplate {
+
+  /** 完整牌组 */
+  public static final String FULL = "full";
+
+  /** 只含大阿尔卡纳 */
+  public static final String MAJORS = "majors";
+
+  /** 只含小阿尔卡纳 */
+  public static final String MINORS = "minors";
+
+  /** 单一花色，与 {@link Suit#WANDS} 等对应 */
+  public static final String WANDS = "wands";
+
+  public static final String CUPS = "cups";
+  public static final String SWORDS = "swords";
+  public static final String PENTACLES = "pentacles";
+
+  private final String name;
+  private final CardCatalog catalog;
+  private final CardMask mask;
+  private final int[] ordinals;
+
+  private SubDeckTemplate(String name, CardCatalog catalog, CardMask mask) {
+    this.name = name;
+    this.catalog = catalog;
+    this.mask = mask;
+    this.ordinals = mask.toOrdinals();
+    if (ordinals.length > 0 && ordinals[ordinals.length - 1] >= catalog.size()) {
+      throw new IllegalArgumentException("掩码包含牌目录之外的序号：" + name);
+    }
+  }
+
+  /**
+   * 创建自定义模板，调用方应自行缓存以便重复使用
+   *
+   * @param name 模板名称
+   * @param catalog 所属牌目录
+   * @param mask 入选牌的掩码
+   * @return 新的模板
+   */
+  public static SubDeckTemplate of(String name, CardCatalog catalog, CardMask mask) {
+    return new SubDeckTemplate(name, catalog, mask);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public CardCatalog getCatalog() {
+    return catalog;
+  }
+
+  public CardMask getMask() {
+    return mask;
+  }
+
+  /** 模板中的牌数 */
+  public int size() {
+    return ordinals.length;
+  }
+
+  /** 将入选牌的序号复制到目标数组开头 */
+  void copyOrdinalsTo(int[] target) {
+    System.arraycopy(ordinals, 0, target, 0, ordinals.length);
+  }
+
+  @Override
+  public String toString() {
+    return name + "(" + ordinals.length + "张)";
+  }
+}
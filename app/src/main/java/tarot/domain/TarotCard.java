@@ -8,13 +8,19 @@ public class TarotCard {
   private final Arcana arcana; // 大/小阿尔卡纳
   private final Suit suit; // 花色，大阿尔卡纳用Suit.None
   private final int number; // 序号：0-21大阿尔卡纳，1-14小阿尔卡纳
+  private final int ordinal; // 在CardCatalog中的稳定序号，未编入牌目录时为-1
 
   public TarotCard(String id, String name, Arcana arcana, Suit suit, int number) {
+    this(id, name, arcana, suit, number, -1);
+  }
+
+  public TarotCard(String id, String name, Arcana arcana, Suit suit, int number, int ordinal) {
     this.id = id;
     this.name = name;
     this.arcana = arcana;
     this.suit = suit;
     this.number = number;
+    this.ordinal = ordinal;
   }
 
   public String getId() {
@@ -37,6 +43,15 @@ public class TarotCard {
     return number;
   }
 
+  /**
+   * 在所属{@link CardCatalog}中的稳定序号（0..size-1）
+   *
+   * @return 序号，未编入牌目录时为-1
+   */
+  public int getOrdinal() {
+    return ordinal;
+  }
+
   @Override
   public String toString() {
     return "TarotCard{"
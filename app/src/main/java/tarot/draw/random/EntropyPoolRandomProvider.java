@@ -0,0 +1,30 @@
+package tarot.draw.random;
+
+import java.security.SecureRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * 为每个线程提供独立的 {@link EntropyPoolRandom}，各线程的缓冲区互不共享。
+ */
+public class EntropyPoolRandomProvider implements RandomGeneratorProvider {
+
+  private final ThreadLocal<RandomGenerator> local;
+
+  public EntropyPoolRandomProvider() {
+    this(EntropyPoolRandom::defaultSource, EntropyPoolRandom.DEFAULT_BLOCK_LONGS);
+  }
+
+  /**
+   * @param sources 为每个线程创建熵源
+   * @param blockLongs 每个缓冲区的 {@code long} 个数
+   */
+  public EntropyPoolRandomProvider(Supplier<SecureRandom> sources, int blockLongs) {
+    this.local = ThreadLocal.withInitial(() -> new EntropyPoolRandom(sources.get(), blockLongs));
+  }
+
+  @Override
+  public RandomGenerator current() {
+    return local.get();
+  }
+}
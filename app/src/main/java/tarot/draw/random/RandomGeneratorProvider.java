@@ -0,0 +1,25 @@
+package tarot.draw.random;
+
+import java.util.random.RandomGenerator;
+
+/** 随机数生成器提供者 抽牌时通过它取得当前线程应使用的随机数生成器，便于替换为每线程独立的快速生成器 */
+@FunctionalInterface
+public interface RandomGeneratorProvider {
+
+  /**
+   * 返回当前线程使用的随机数生成器
+   *
+   * @return
+   */
+  RandomGenerator current();
+
+  /**
+   * 所有线程共享同一个生成器，用于兼容原有只传入一个{@link java.util.Random}的用法
+   *
+   * @param generator 共享的生成器
+   * @return
+   */
+  static RandomGeneratorProvider shared(RandomGenerator generator) {
+    return () -> generator;
+  }
+}
@@ -1,11 +1,22 @@
 package tarot.draw.strategy;
 
 import java.util.List;
-import java.util.Random;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+import tarot.domain.CardCatalog;
 import tarot.domain.Deck;
 import tarot.domain.DrawnCard;
+import tarot.domain.PackedDrawnCards;
 
-/** 抽牌策略接口 不同实现可以用不同抽取方式 */
+/**
+ * 抽牌策略接口 不同实现可以用不同抽取方式
+ *
+ * <p>底层接口 {@link #drawCodes} 把抽到的牌以紧凑编码写入调用方提供的数组，不分配任何对象；
+ * {@link #draw} 建立在其上，另外只分配一个编码数组与一个列表视图。
+ *
+ * <p>实现类只需实现{@link #drawCodes}。原先只实现{@link #draw}、以列表产出结果的实现，
+ * 可以在{@link #drawCodes}中调用自己的列表抽牌逻辑，再用{@link #encodeAll}写入缓冲区。
+ */
 public interface DrawStrategy {
 
   /**
@@ -14,8 +25,100 @@ public interface DrawStrategy {
    * @param deck 当前的牌堆
    * @param count 需要抽取的数量
    * @param enableReversed 是否启用逆位
-   * @param random 随机数生成器
+   * @param random 随机数生成器，{@link java.util.Random}、{@link java.util.SplittableRandom}等均可
    * @return 抽到的牌列表(包含正/逆位信息)
    */
-  List<DrawnCard> draw(Deck deck, int count, boolean enableReversed, Random random);
+  default List<DrawnCard> draw(
+      Deck deck, int count, boolean enableReversed, RandomGenerator random) {
+    short[] codes = new short[count];
+    drawCodes(deck, count, enableReversed, random, codes, 0);
+    return new PackedDrawnCards(deck.getCatalog(), codes);
+  }
+
+  /**
+   * 从给定牌堆中抽取指定数量的牌，写入调用方提供的缓冲区
+   *
+   * @param deck 当前的牌堆
+   * @param count 需要抽取的数量
+   * @param enableReversed 是否启用逆位
+   * @param random 随机数生成器
+   * @param codes 输出缓冲区，第i张牌写入 {@code codes[offset + i]}，
+   *     编码见 {@link CardCatalog#encode(int, boolean)}
+   * @param offset 写入的起始下标
+   * @throws IllegalArgumentException 牌堆剩余牌不足时抛出
+   */
+  void drawCodes(
+      Deck deck, int count, boolean enableReversed, RandomGenerator random,
+      short[] codes, int offset);
+
+  /**
+   * 是否要求传入的牌堆已经洗好
+   *
+   * <p>只从牌堆顶依次抽牌、自身不洗牌的策略返回 true。自行准备牌堆的调用方（如批量抽牌与模拟）
+   * 在这种情况下要先打乱牌堆顶的牌，否则每次都会抽到同样的牌。
+   *
+   * @return 默认返回 false
+   */
+  default boolean requiresShuffledDeck() {
+    return false;
+  }
+
+  /**
+   * 抽牌结果的分布是否取决于牌堆传入时的顺序
+   *
+   * <p>自己做均匀随机选择的策略（如标准洗牌、部分洗牌、按权重抽牌）返回 false：无论牌堆原来是什么顺序，
+   * 结果的分布都相同。只对现有顺序做不充分混合的策略（如{@link PhysicalShuffleDrawStrategy}）返回 true，
+   * 它的结果只有在给定初始顺序的前提下才有意义。各调用方传入的初始顺序为：
+   * <ul>
+   * <li>按子牌堆模板抽牌：模板中的顺序，即牌目录顺序的子序列；</li>
+   * <li>并发服务的每次抽牌：牌堆工厂重置后的顺序，标准工厂为牌目录顺序；</li>
+   * <li>批量抽牌与模拟：本方法返回 true 时每次占卜前把牌堆恢复为牌目录顺序，保证各次占卜相互独立；
+   * 否则只放回上一次抽走的牌，沿用上一次留下的顺序；</li>
+   * <li>连续抽牌服务的当前牌堆：上一次抽牌后留下的顺序。</li>
+   * </ul>
+   *
+   * @return 默认返回 false
+   */
+  default boolean dependsOnInitialOrder() {
+    return false;
+  }
+
+  /**
+   * 把以列表表示的抽牌结果逐张编码写入缓冲区，用于适配以列表产出结果的实现
+   *
+   * @param drawn 抽到的牌
+   * @param codes 输出缓冲区，第i张牌写入 {@code codes[offset + i]}
+   * @param offset 写入的起始下标
+   */
+  static void encodeAll(List<DrawnCard> drawn, short[] codes, int offset) {
+    Objects.checkFromIndexSize(offset, drawn.size(), codes.length);
+    for (int i = 0; i < drawn.size(); i++) {
+      DrawnCard card = drawn.get(i);
+      int ordinal = card.getCard().getOrdinal();
+      codes[offset + i] = (short) CardCatalog.encode(ordinal, card.isReversed());
+    }
+  }
+
+  /**
+   * 逆位位图：每64张牌只取一次 {@code nextLong()}，第i张牌使用第 {@code i % 64} 位
+   *
+   * @param enableReversed 是否启用逆位，未启用时不消耗随机数
+   * @param random 随机数生成器
+   * @return 逆位位图
+   */
+  static long reversalBits(boolean enableReversed, RandomGenerator random) {
+    return enableReversed ? random.nextLong() : 0L;
+  }
+
+  /**
+   * 把序号与逆位位图中对应的位写成编码
+   *
+   * @param ordinal 牌的序号
+   * @param bits 逆位位图
+   * @param index 牌在本次抽牌中的下标
+   * @return 编码
+   */
+  static short encode(int ordinal, long bits, int index) {
+    return (short) (ordinal << 1 | (int) (bits >>> index) & 1);
+  }
 }
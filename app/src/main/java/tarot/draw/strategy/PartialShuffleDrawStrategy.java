@@ -0,0 +1,32 @@
+package tarot.draw.strategy;
+
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+import tarot.domain.Deck;
+
+/**
+ * 部分洗牌抽牌策略： 只执行count步Fisher–Yates洗牌，每一步从剩余牌中随机选一张换到牌堆顶并抽走。
+ *
+ * <p>抽到的牌与{@link StandardDrawStrategy}（先整副洗牌再抽牌）服从相同的均匀分布，但抽k张牌的开销为O(k)，
+ * 与牌堆大小无关，适合单张牌等只需要少量牌的牌阵。
+ */
+public class PartialShuffleDrawStrategy implements DrawStrategy {
+
+  @Override
+  public void drawCodes(
+      Deck deck, int count, boolean enableReversed, RandomGenerator random,
+      short[] codes, int offset) {
+    if (deck.size() < count) {
+      throw new IllegalArgumentException("牌堆剩余牌不足，无法抽取 " + count + " 张牌");
+    }
+    Objects.checkFromIndexSize(offset, count, codes.length);
+
+    long bits = 0;
+    for (int i = 0; i < count; i++) {
+      if ((i & 63) == 0) {
+        bits = DrawStrategy.reversalBits(enableReversed, random);
+      }
+      codes[offset + i] = DrawStrategy.encode(deck.drawRandomOrdinal(random), bits, i & 63);
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package tarot.draw.strategy;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 一次物理洗牌动作，作用在以字节表示的位置排列上。
+ *
+ * <p>{@code cards[0..n)} 为从牌堆顶开始的当前顺序，{@code scratch} 为同样长度的临时数组；
+ * 动作结束时结果必须写回 {@code cards}。可以组合多个动作，见 {@link PhysicalShuffleDrawStrategy}。
+ */
+@FunctionalInterface
+public interface PhysicalShuffle {
+
+  /** Gilbert–Shannon–Reeds 模型的一次鸽尾式洗牌 */
+  PhysicalShuffle RIFFLE = PhysicalShuffles::riffle;
+
+  /** 按二项分布位置切一次牌，把上半叠放到下面 */
+  PhysicalShuffle CUT = PhysicalShuffles::cut;
+
+  /**
+   * 一次上手洗牌：从牌堆顶不断取一小叠放到新牌堆上，直到取完
+   *
+   * @param meanPacket 每叠的平均张数
+   * @return 洗牌动作
+   */
+  static PhysicalShuffle overhand(int meanPacket) {
+    if (meanPacket < 1) {
+      throw new IllegalArgumentException("每叠的平均张数至少为1：" + meanPacket);
+    }
+    return (cards, scratch, n, random) ->
+        PhysicalShuffles.overhand(cards, scratch, n, meanPacket, random);
+  }
+
+  /**
+   * @param cards 当前顺序，结果也写回此数组
+   * @param scratch 临时数组，长度不小于n
+   * @param n 牌数
+   * @param random 随机数生成器
+   */
+  void apply(byte[] cards, byte[] scratch, int n, RandomGenerator random);
+}
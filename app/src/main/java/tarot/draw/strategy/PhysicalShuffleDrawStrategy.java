@@ -0,0 +1,111 @@
+package tarot.draw.strategy;
+
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+import tarot.domain.Deck;
+
+/**
+ * 模拟真实手法洗牌的抽牌策略：依次执行一组 {@link PhysicalShuffle} 动作后，从牌堆顶抽牌。
+ *
+ * <p>与 {@link StandardDrawStrategy} 的均匀洗牌不同，物理洗牌保留了手法本身的不充分混合，例如只做一两次鸽尾式洗牌时，
+ * 原来相邻的牌仍有较大概率相邻。洗牌在剩余牌的字节位置排列上进行，完成后通过 {@link Deck#permuteRemaining(byte[])}
+ * 一次性写回牌堆，因此只支持剩余不超过256张牌的牌堆。位置数组按线程复用。
+ *
+ * <p>洗牌的起点是牌堆传入时的顺序，各调用方传入的顺序见 {@link #dependsOnInitialOrder()}。
+ */
+public class PhysicalShuffleDrawStrategy implements DrawStrategy {
+
+  /** 字节位置排列能表示的最大牌数 */
+  public static final int MAX_CARDS = 256;
+
+  private static final ThreadLocal<byte[][]> BUFFERS =
+      ThreadLocal.withInitial(() -> new byte[][] {new byte[MAX_CARDS], new byte[MAX_CARDS]});
+
+  private final PhysicalShuffle[] steps;
+
+  /**
+   * @param steps 按顺序执行的洗牌动作
+   */
+  public PhysicalShuffleDrawStrategy(PhysicalShuffle... steps) {
+    this.steps = steps.clone();
+  }
+
+  /**
+   * 常见的赌场手法：切一次牌后做若干次鸽尾式洗牌，每次之间再切一次。按 Bayer–Diaconis 的结果，
+   * 52张牌约7次鸽尾式洗牌才接近均匀。
+   *
+   * @param riffles 鸽尾式洗牌次数，为0时只切一次牌
+   * @return 抽牌策略
+   * @throws IllegalArgumentException 次数为负数时抛出
+   */
+  public static PhysicalShuffleDrawStrategy riffles(int riffles) {
+    if (riffles < 0) {
+      throw new IllegalArgumentException("鸽尾式洗牌次数不能为负数：" + riffles);
+    }
+    PhysicalShuffle[] steps = new PhysicalShuffle[riffles * 2 + 1];
+    steps[0] = PhysicalShuffle.CUT;
+    for (int i = 0; i < riffles; i++) {
+      steps[i * 2 + 1] = PhysicalShuffle.RIFFLE;
+      steps[i * 2 + 2] = PhysicalShuffle.CUT;
+    }
+    return new PhysicalShuffleDrawStrategy(steps);
+  }
+
+  /**
+   * 若干次上手洗牌
+   *
+   * @param passes 洗牌次数，为0时不改变牌堆顺序
+   * @param meanPacket 每叠的平均张数
+   * @return 抽牌策略
+   * @throws IllegalArgumentException 次数为负数或每叠的平均张数小于1时抛出
+   */
+  public static PhysicalShuffleDrawStrategy overhand(int passes, int meanPacket) {
+    if (passes < 0) {
+      throw new IllegalArgumentException("上手洗牌次数不能为负数：" + passes);
+    }
+    PhysicalShuffle overhand = PhysicalShuffle.overhand(meanPacket);
+    PhysicalShuffle[] steps = new PhysicalShuffle[passes];
+    for (int i = 0; i < passes; i++) {
+      steps[i] = overhand;
+    }
+    return new PhysicalShuffleDrawStrategy(steps);
+  }
+
+  /** 洗牌只混合牌堆现有的顺序，结果取决于初始顺序 */
+  @Override
+  public boolean dependsOnInitialOrder() {
+    return true;
+  }
+
+  @Override
+  public void drawCodes(
+      Deck deck, int count, boolean enableReversed, RandomGenerator random,
+      short[] codes, int offset) {
+    if (deck.size() < count) {
+      throw new IllegalArgumentException("牌堆剩余牌不足，无法抽取 " + count + " 张牌");
+    }
+    Objects.checkFromIndexSize(offset, count, codes.length);
+    int n = deck.size();
+    if (n > MAX_CARDS) {
+      throw new IllegalArgumentException("物理洗牌最多支持 " + MAX_CARDS + " 张牌，实际：" + n);
+    }
+
+    byte[][] buffers = BUFFERS.get();
+    byte[] cards = buffers[0];
+    for (int i = 0; i < n; i++) {
+      cards[i] = (byte) i;
+    }
+    for (PhysicalShuffle step : steps) {
+      step.apply(cards, buffers[1], n, random);
+    }
+    deck.permuteRemaining(cards);
+
+    long bits = 0;
+    for (int i = 0; i < count; i++) {
+      if ((i & 63) == 0) {
+        bits = DrawStrategy.reversalBits(enableReversed, random);
+      }
+      codes[offset + i] = DrawStrategy.encode(deck.drawTopOrdinal(), bits, i & 63);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package tarot.draw.strategy;
+
+import java.util.random.RandomGenerator;
+
+/** 物理洗牌动作的实现，全部基于字节数组与 {@link System#arraycopy} 批量复制 */
+final class PhysicalShuffles {
+
+  private PhysicalShuffles() {}
+
+  /**
+   * GSR 模型：按 Binomial(n, 1/2) 把牌分成上下两叠，之后每次从剩余张数为 a、b 的两叠中，
+   * 以 a/(a+b) 的概率从上叠落下一张；一叠落完后另一叠整段复制。
+   */
+  static void riffle(byte[] cards, byte[] scratch, int n, RandomGenerator random) {
+    int top = binomialHalf(n, random);
+    int a = 0;
+    int b = top;
+    int out = 0;
+    while (a < top && b < n) {
+      if (random.nextInt(n - out) < top - a) {
+        scratch[out++] = cards[a++];
+      } else {
+        scratch[out++] = cards[b++];
+      }
+    }
+    if (a < top) {
+      System.arraycopy(cards, a, scratch, out, top - a);
+    } else {
+      System.arraycopy(cards, b, scratch, out, n - b);
+    }
+    System.arraycopy(scratch, 0, cards, 0, n);
+  }
+
+  /** 在 Binomial(n, 1/2) 的位置切牌，上下两叠交换 */
+  static void cut(byte[] cards, byte[] scratch, int n, RandomGenerator random) {
+    int top = binomialHalf(n, random);
+    System.arraycopy(cards, top, scratch, 0, n - top);
+    System.arraycopy(cards, 0, scratch, n - top, top);
+    System.arraycopy(scratch, 0, cards, 0, n);
+  }
+
+  /**
+   * 每次从手中牌堆顶取 [1, 2·meanPacket) 张，放到新牌堆顶上。先取的一叠最终在最下面，
+   * 因此从 scratch 末尾往前整段复制。
+   */
+  static void overhand(
+      byte[] cards, byte[] scratch, int n, int meanPacket, RandomGenerator random) {
+    int taken = 0;
+    int end = n;
+    while (taken < n) {
+      int packet = Math.min(n - taken, 1 + random.nextInt(2 * meanPacket - 1));
+      end -= packet;
+      System.arraycopy(cards, taken, scratch, end, packet);
+      taken += packet;
+    }
+    System.arraycopy(scratch, 0, cards, 0, n);
+  }
+
+  /** 逐64位取随机数统计置位个数，得到 Binomial(n, 1/2) */
+  private static int binomialHalf(int n, RandomGenerator random) {
+    int count = 0;
+    int remaining = n;
+    while (remaining >= Long.SIZE) {
+      count += Long.bitCount(random.nextLong());
+      remaining -= Long.SIZE;
+    }
+    if (remaining > 0) {
+      count += Long.bitCount(random.nextLong() & (1L << remaining) - 1);
+    }
+    return count;
+  }
+}
@@ -0,0 +1,37 @@
+package tarot.draw.strategy;
+
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+import tarot.domain.Deck;
+
+/**
+ * 预洗牌抽牌策略：不再洗牌，直接从牌堆顶依次抽取，随机数只用于决定逆位。
+ *
+ * <p>只适用于已经洗好的牌堆，例如 {@link tarot.deck.pool.DeckPool} 提供的牌堆；对按顺序排列的牌堆
+ * 使用时每次都会抽到同样的牌。自行准备牌堆的调用方会根据{@link #requiresShuffledDeck()}先打乱牌堆顶。
+ */
+public class PreShuffledDrawStrategy implements DrawStrategy {
+
+  @Override
+  public boolean requiresShuffledDeck() {
+    return true;
+  }
+
+  @Override
+  public void drawCodes(
+      Deck deck, int count, boolean enableReversed, RandomGenerator random,
+      short[] codes, int offset) {
+    if (deck.size() < count) {
+      throw new IllegalArgumentException("牌堆剩余牌不足，无法抽取 " + count + " 张牌");
+    }
+    Objects.checkFromIndexSize(offset, count, codes.length);
+
+    long bits = 0;
+    for (int i = 0; i < count; i++) {
+      if ((i & 63) == 0) {
+        bits = DrawStrategy.reversalBits(enableReversed, random);
+      }
+      codes[offset + i] = DrawStrategy.encode(deck.drawTopOrdinal(), bits, i & 63);
+    }
+  }
+}
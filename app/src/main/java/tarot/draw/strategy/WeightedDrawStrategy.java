@@ -0,0 +1,219 @@
+package tarot.draw.strategy;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+import tarot.domain.CardCatalog;
+import tarot.domain.Deck;
+import tarot.domain.TarotCard;
+
+/**
+ * 加权抽牌策略：每张牌有自己的权重与逆位概率，按权重不放回地抽牌，例如主题牌组中提高某些牌出现的机会。
+ *
+ * <p>抽牌使用以牌的序号为下标、以权重为值的树状数组（Fenwick tree）：
+ * <ul>
+ * <li>完整牌目录的树只在构造时建一次，每个线程复制一份；</li>
+ * <li>每抽一张牌，在树上按 {@code nextDouble() * 总权重} 自顶向下查找前缀和，
+ * 再把该牌的权重减掉，都是 O(log n)；</li>
+ * <li>修改前的节点值记在撤销日志中，调用结束时逐个写回，树恢复为完整牌目录的状态，
+ * 不会因反复加减权重累积浮点误差，因此从完整牌堆抽k张牌的开销为 O(k log n)；</li>
+ * <li>牌堆不完整时（例如已抽过牌或按子牌堆模板重置），先以同样的方式减掉缺少的牌，
+ * 需要扫描一遍牌目录；</li>
+ * <li>策略本身无状态，可被多个线程共享；</li>
+ * <li>各张牌的逆位概率不同，因此逆位不使用位图，每张牌单独取一次 {@code nextDouble()}。</li>
+ * </ul>
+ * 权重为0的牌不会被抽到。
+ */
+public class WeightedDrawStrategy implements DrawStrategy {
+
+  private final CardCatalog catalog;
+  private final double[] weights;
+  private final double[] reversedProbabilities;
+  private final double[] fullTree;
+  private final int positiveCount;
+  private final ThreadLocal<Scratch> scratches;
+
+  /**
+   * @param catalog 权重所属的牌目录，抽牌时牌堆必须使用同一牌目录
+   * @param weights 按序号排列的权重，不能为负
+   * @param reversedProbabilities 按序号排列的逆位概率，取值[0, 1]
+   */
+  public WeightedDrawStrategy(
+      CardCatalog catalog, double[] weights, double[] reversedProbabilities) {
+    if (weights.length != catalog.size() || reversedProbabilities.length != catalog.size()) {
+      throw new IllegalArgumentException("权重数量与牌目录牌数不一致：" + catalog.size());
+    }
+    int positive = 0;
+    for (int i = 0; i < weights.length; i++) {
+      if (!(weights[i] >= 0) || Double.isInfinite(weights[i])) {
+        throw new IllegalArgumentException("权重不合法：" + catalog.get(i).getId() + "=" + weights[i]);
+      }
+      if (!(reversedProbabilities[i] >= 0 && reversedProbabilities[i] <= 1)) {
+        throw new IllegalArgumentException(
+            "逆位概率不合法：" + catalog.get(i).getId() + "=" + reversedProbabilities[i]);
+      }
+      if (weights[i] > 0) {
+        positive++;
+      }
+    }
+    this.catalog = catalog;
+    this.weights = weights.clone();
+    this.reversedProbabilities = reversedProbabilities.clone();
+    this.fullTree = build(this.weights);
+    this.positiveCount = positive;
+    this.scratches = ThreadLocal.withInitial(() -> new Scratch(fullTree.clone()));
+  }
+
+  /**
+   * 按牌计算权重与逆位概率
+   *
+   * @param catalog 牌目录
+   * @param weight 每张牌的权重
+   * @param reversedProbability 每张牌的逆位概率
+   * @return 新的策略
+   */
+  public static WeightedDrawStrategy of(
+      CardCatalog catalog,
+      ToDoubleFunction<TarotCard> weight,
+      ToDoubleFunction<TarotCard> reversedProbability) {
+    double[] weights = new double[catalog.size()];
+    double[] reversed = new double[catalog.size()];
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] = weight.applyAsDouble(catalog.get(i));
+      reversed[i] = reversedProbability.applyAsDouble(catalog.get(i));
+    }
+    return new WeightedDrawStrategy(catalog, weights, reversed);
+  }
+
+  @Override
+  public void drawCodes(
+      Deck deck, int count, boolean enableReversed, RandomGenerator random,
+      short[] codes, int offset) {
+    if (deck.getCatalog() != catalog) {
+      throw new IllegalArgumentException("权重与牌堆不属于同一牌目录");
+    }
+    Scratch scratch = scratches.get();
+    try {
+      int candidates = positiveCount;
+      if (deck.size() < weights.length) {
+        for (int ordinal = 0; ordinal < weights.length; ordinal++) {
+          if (weights[ordinal] > 0 && !deck.contains(ordinal)) {
+            scratch.subtract(ordinal, weights[ordinal]);
+            candidates--;
+          }
+        }
+      }
+      if (candidates < count) {
+        throw new IllegalArgumentException("牌堆中权重为正的牌不足，无法抽取 " + count + " 张牌");
+      }
+      Objects.checkFromIndexSize(offset, count, codes.length);
+
+      double[] tree = scratch.tree;
+      for (int i = 0; i < count; i++) {
+        int ordinal = find(tree, random.nextDouble() * total(tree), deck);
+        scratch.subtract(ordinal, weights[ordinal]);
+        deck.drawOrdinal(ordinal);
+        boolean reversed = enableReversed && random.nextDouble() < reversedProbabilities[ordinal];
+        codes[offset + i] = (short) CardCatalog.encode(ordinal, reversed);
+      }
+    } finally {
+      scratch.restore();
+    }
+  }
+
+  /** 以全部权重线性建树 */
+  private static double[] build(double[] weights) {
+    int n = weights.length;
+    double[] tree = new double[n + 1];
+    System.arraycopy(weights, 0, tree, 1, n);
+    for (int i = 1; i <= n; i++) {
+      int parent = i + (i & -i);
+      if (parent <= n) {
+        tree[parent] += tree[i];
+      }
+    }
+    return tree;
+  }
+
+  private double total(double[] tree) {
+    double sum = 0;
+    for (int i = tree.length - 1; i > 0; i -= i & -i) {
+      sum += tree[i];
+    }
+    return sum;
+  }
+
+  /**
+   * 找到前缀和首次超过target的序号
+   *
+   * <p>树上的加减是浮点运算，下降查找有两种情况会落在不可抽的位置：一是很小的权重被大权重吸收
+   * （例如 {@code 1 + 1e-20 == 1}），减掉大权重后总和为0，剩下的正权重牌在树上已不可见；
+   * 二是内部节点相减留下的舍入残差使查找停在已抽走或权重为0的牌上。两种情况都只在舍入时出现，
+   * 重新取随机数无法摆脱第一种情况，因此改为向两侧线性查找最近的可抽的牌。
+   * 正常查找不会进入这段扫描，期望开销仍为 O(log n)。
+   */
+  private int find(double[] tree, double target, Deck deck) {
+    int n = tree.length - 1;
+    int pos = 0;
+    for (int step = Integer.highestOneBit(n); step > 0; step >>= 1) {
+      int next = pos + step;
+      if (next <= n && tree[next] <= target) {
+        pos = next;
+        target -= tree[next];
+      }
+    }
+    if (pos < n && isCandidate(deck, pos)) {
+      return pos;
+    }
+    for (int i = Math.min(pos, n - 1); i >= 0; i--) {
+      if (isCandidate(deck, i)) {
+        return i;
+      }
+    }
+    for (int i = pos + 1; i < n; i++) {
+      if (isCandidate(deck, i)) {
+        return i;
+      }
+    }
+    throw new IllegalStateException("牌堆中没有权重为正的牌");
+  }
+
+  private boolean isCandidate(Deck deck, int ordinal) {
+    return weights[ordinal] > 0 && deck.contains(ordinal);
+  }
+
+  /** 线程私有的树与撤销日志 */
+  private static final class Scratch {
+
+    private final double[] tree;
+    private int[] touched = new int[64];
+    private double[] saved = new double[64];
+    private int size;
+
+    Scratch(double[] tree) {
+      this.tree = tree;
+    }
+
+    /** 从树上减掉一张牌的权重，并记下每个被修改节点原来的值 */
+    void subtract(int ordinal, double weight) {
+      for (int i = ordinal + 1; i < tree.length; i += i & -i) {
+        if (size == touched.length) {
+          touched = Arrays.copyOf(touched, size * 2);
+          saved = Arrays.copyOf(saved, size * 2);
+        }
+        touched[size] = i;
+        saved[size++] = tree[i];
+        tree[i] -= weight;
+      }
+    }
+
+    /** 按相反顺序写回原值，使树精确恢复为完整牌目录的状态 */
+    void restore() {
+      while (size > 0) {
+        size--;
+        tree[touched[size]] = saved[size];
+      }
+    }
+  }
+}
@@ -0,0 +1,225 @@
+package tarot.probability;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import tarot.domain.CardCatalog;
+import tarot.domain.TarotCard;
+import tarot.repository.CardRepository;
+import tarot.spread.Spread;
+
+/**
+ * 牌阵结果的精确概率计算。
+ *
+ * <p>一次占卜是从整副牌中不放回地抽出{@code n = spread.getCardCount()}张，
+ * 因此“其中有k张满足条件”服从超几何分布：
+ * <ul>
+ * <li>只需知道满足条件的牌数M、牌堆总数N与n，与具体是哪些牌无关；</li>
+ * <li>{@code P(k) = C(M,k)·C(N-M,n-k) / C(N,n)}，组合数用{@link BigInteger}精确计算，
+ * 每个概率都是精确的分数，只在最后舍入为最接近的{@code double}；</li>
+ * <li>“至少k张”与“至少一张逆位”同样先按分数精确求和再舍入，不累加舍入后的各项；</li>
+ * <li>同一(M, n)的结果只计算一次并缓存；满足牌数按条件对象缓存在{@link WeakHashMap}中（按条件的
+ * {@code equals}比较，lambda与方法引用即按对象本身），之后的查询不再遍历牌目录，也不复制数组。
+ * 因此条件只能依赖牌本身，不能随时间变化。</li>
+ * </ul>
+ * 逆位按现有抽牌策略的行为计算：启用逆位时每张牌独立地以 {@link #REVERSED_PROBABILITY} 的概率逆位。
+ */
+public class SpreadProbabilityCalculator {
+
+  /** 启用逆位时单张牌逆位的概率，逆位相关的计算都按它的精确十进制值进行 */
+  public static final double REVERSED_PROBABILITY = 0.5;
+
+  /** {@link #REVERSED_PROBABILITY}的精确分数：{@code REVERSED_NUMERATOR / REVERSED_SCALE} */
+  private static final BigInteger REVERSED_NUMERATOR =
+      new BigDecimal(REVERSED_PROBABILITY).unscaledValue();
+  private static final BigInteger REVERSED_SCALE =
+      BigInteger.TEN.pow(new BigDecimal(REVERSED_PROBABILITY).scale());
+
+  /** 分数转为double前保留的有效数字位数，多于double的17位 */
+  private static final MathContext PRECISION = new MathContext(20);
+
+  private final CardCatalog catalog;
+  private final Map<Long, Hypergeometric> distributions = new ConcurrentHashMap<>();
+  /** 条件 → 满足的牌数；弱引用键，条件对象不再使用后随之回收 */
+  private final Map<Predicate<TarotCard>, Integer> matchingCounts =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  public SpreadProbabilityCalculator(CardRepository cardRepository) {
+    this(cardRepository.catalog());
+  }
+
+  public SpreadProbabilityCalculator(CardCatalog catalog) {
+    this.catalog = catalog;
+  }
+
+  /**
+   * 恰好有k张牌满足条件的概率，例如“恰好两张圣杯”
+   *
+   * @param spread 牌阵
+   * @param filter 牌的条件
+   * @param k 张数
+   * @return 概率
+   */
+  public double exactly(Spread spread, Predicate<TarotCard> filter, int k) {
+    double[] pmf = lookup(spread, filter).pmf();
+    return k < 0 || k >= pmf.length ? 0 : pmf[k];
+  }
+
+  /**
+   * 至少有k张牌满足条件的概率
+   *
+   * @param spread 牌阵
+   * @param filter 牌的条件
+   * @param k 最少张数
+   * @return 概率
+   */
+  public double atLeast(Spread spread, Predicate<TarotCard> filter, int k) {
+    double[] tail = lookup(spread, filter).tail();
+    return k >= tail.length ? 0 : tail[Math.max(k, 0)];
+  }
+
+  /**
+   * 至少有一张满足条件的牌以逆位出现的概率，例如“至少一张逆位的大阿尔卡纳”
+   *
+   * @param spread 牌阵
+   * @param filter 牌的条件
+   * @param enableReversed 是否启用逆位，未启用时概率为0
+   * @return 概率
+   */
+  public double atLeastOneReversed(
+      Spread spread, Predicate<TarotCard> filter, boolean enableReversed) {
+    return enableReversed ? lookup(spread, filter).atLeastOneReversed() : 0;
+  }
+
+  /**
+   * 指定的牌出现在指定牌位的概率
+   *
+   * @param spread 牌阵
+   * @param cardId 牌的唯一标识
+   * @param position 牌位序号
+   * @return 概率，牌不存在或牌位越界时为0
+   */
+  public double cardAtPosition(Spread spread, String cardId, int position) {
+    if (position < 0 || position >= spread.getCardCount() || catalog.ordinalOf(cardId) < 0) {
+      return 0;
+    }
+    return 1.0 / catalog.size();
+  }
+
+  /**
+   * 指定的牌以指定朝向出现在指定牌位的概率
+   *
+   * @param spread 牌阵
+   * @param cardId 牌的唯一标识
+   * @param position 牌位序号
+   * @param reversed 是否逆位
+   * @param enableReversed 是否启用逆位
+   * @return 概率
+   */
+  public double cardAtPosition(
+      Spread spread, String cardId, int position, boolean reversed, boolean enableReversed) {
+    double orientation = !enableReversed
+        ? (reversed ? 0 : 1)
+        : (reversed ? REVERSED_PROBABILITY : 1 - REVERSED_PROBABILITY);
+    return cardAtPosition(spread, cardId, position) * orientation;
+  }
+
+  /**
+   * 满足条件的牌数的完整分布
+   *
+   * @param spread 牌阵
+   * @param filter 牌的条件
+   * @return 下标k处为恰好k张满足条件的概率，长度为牌阵牌数+1
+   */
+  public double[] distribution(Spread spread, Predicate<TarotCard> filter) {
+    return lookup(spread, filter).pmf().clone();
+  }
+
+  private Hypergeometric lookup(Spread spread, Predicate<TarotCard> filter) {
+    int n = spread.getCardCount();
+    if (n > catalog.size()) {
+      throw new IllegalArgumentException("牌堆剩余牌不足，无法抽取 " + n + " 张牌");
+    }
+    Integer matching = matchingCounts.get(filter);
+    if (matching == null) {
+      matching = countMatching(filter);
+      matchingCounts.put(filter, matching);
+    }
+    int m = matching;
+    long key = (long) m << 32 | n;
+    return distributions.computeIfAbsent(key, ignored -> computeHypergeometric(m, n));
+  }
+
+  private int countMatching(Predicate<TarotCard> filter) {
+    int matching = 0;
+    for (TarotCard card : catalog.getCards()) {
+      if (filter.test(card)) {
+        matching++;
+      }
+    }
+    return matching;
+  }
+
+  /**
+   * 先以C(N,n)为公分母求出每一项的分子，各种概率都在分子上精确求和后只做一次除法。
+   * 逆位概率p写成精确分数{@code u/D}，“k张中至少一张逆位”的概率为
+   * {@code 1 - (1-p)^k = (D^k - (D-u)^k) / D^k}，通分到公分母{@code D^n}后累加到分子上。
+   */
+  private Hypergeometric computeHypergeometric(int matching, int n) {
+    int total = catalog.size();
+    int others = total - matching;
+    BigInteger denominator = binomial(total, n);
+    BigInteger[] numerators = new BigInteger[n + 1];
+    for (int k = 0; k <= n; k++) {
+      numerators[k] = k > matching || n - k > others
+          ? BigInteger.ZERO
+          : binomial(matching, k).multiply(binomial(others, n - k));
+    }
+
+    double[] pmf = new double[n + 1];
+    double[] tail = new double[n + 1];
+    BigInteger sum = BigInteger.ZERO;
+    for (int k = n; k >= 0; k--) {
+      pmf[k] = ratio(numerators[k], denominator);
+      sum = sum.add(numerators[k]);
+      tail[k] = ratio(sum, denominator);
+    }
+
+    BigInteger upright = REVERSED_SCALE.subtract(REVERSED_NUMERATOR);
+    BigInteger reversed = BigInteger.ZERO;
+    for (int k = 1; k <= n; k++) {
+      BigInteger someReversed = REVERSED_SCALE.pow(k).subtract(upright.pow(k))
+          .multiply(REVERSED_SCALE.pow(n - k));
+      reversed = reversed.add(numerators[k].multiply(someReversed));
+    }
+    BigInteger scale = REVERSED_SCALE.pow(n);
+    return new Hypergeometric(pmf, tail, ratio(reversed, denominator.multiply(scale)));
+  }
+
+  private static BigInteger binomial(int n, int k) {
+    BigInteger result = BigInteger.ONE;
+    for (int i = 0; i < k; i++) {
+      result = result.multiply(BigInteger.valueOf(n - i)).divide(BigInteger.valueOf(i + 1));
+    }
+    return result;
+  }
+
+  /** 分数先保留{@link #PRECISION}位有效数字再转为double，与精确值相差不超过double的一个最小单位 */
+  private static double ratio(BigInteger numerator, BigInteger denominator) {
+    return new BigDecimal(numerator).divide(new BigDecimal(denominator), PRECISION).doubleValue();
+  }
+
+  /**
+   * 一组(M, n)的缓存结果
+   *
+   * @param pmf 下标k处为恰好k张满足条件的概率
+   * @param tail 下标k处为至少k张满足条件的概率
+   * @param atLeastOneReversed 启用逆位时至少一张满足条件的牌逆位的概率
+   */
+  private record Hypergeometric(double[] pmf, double[] tail, double atLeastOneReversed) {}
+}
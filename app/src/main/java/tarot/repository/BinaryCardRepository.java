@@ -0,0 +1,128 @@
+package tarot.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import tarot.domain.Arcana;
+import tarot.domain.CardCatalog;
+import tarot.domain.Suit;
+import tarot.domain.TarotCard;
+
+/**
+ * 读取构建期生成的二进制牌目录（由 Gradle 任务 {@code compileCardCatalog} 从 cards.json 编译而来）。
+ *
+ * <p>一次性读入整个资源后直接按偏移解码，不使用反射，也不做枚举名称查找。二进制资源不存在或格式不匹配时， 回退到给定的仓储（默认
+ * {@link JsonCardRepository}）。
+ *
+ * <h2>文件格式（大端序）</h2>
+ *
+ * <pre>
+ * 文件头（12 字节）：int magic = "TARC" | short version = 1 | short count | int stringTableLength
+ * 记录（count × 16 字节）：int idOffset | int nameOffset | short idLength | short nameLength
+ *                          | byte arcana | byte suit | short number
+ * 字符串表：UTF-8 字节，偏移相对于字符串表起点
+ * </pre>
+ *
+ * arcana / suit 为对应枚举的声明顺序（{@link Enum#ordinal()}）。
+ *
+ * <p>资源内容不会变化，首次访问时解码一次并缓存牌目录快照。
+ */
+public class BinaryCardRepository implements CardRepository {
+
+  static final int MAGIC = 0x54415243;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 12;
+  static final int RECORD_SIZE = 16;
+
+  private static final Arcana[] ARCANA = Arcana.values();
+  private static final Suit[] SUITS = Suit.values();
+
+  private final String resourcePath;
+  private final CardRepository fallback;
+  private final CardRepository cache = new CachingCardRepository(this::load);
+
+  public BinaryCardRepository() {
+    this("/tarot/cards.bin", new JsonCardRepository());
+  }
+
+  public BinaryCardRepository(String resourcePath, CardRepository fallback) {
+    this.resourcePath = resourcePath;
+    this.fallback = fallback;
+  }
+
+  @Override
+  public List<TarotCard> findAll() {
+    return cache.findAll();
+  }
+
+  @Override
+  public CardCatalog catalog() {
+    return cache.catalog();
+  }
+
+  private List<TarotCard> load() {
+    byte[] bytes;
+    try (InputStream is = getClass().getResourceAsStream(resourcePath)) {
+      if (is == null) {
+        return fallback.findAll();
+      }
+      bytes = is.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException("读取二进制牌目录失败：" + resourcePath, e);
+    }
+    List<TarotCard> cards = decode(ByteBuffer.wrap(bytes));
+    return cards != null ? cards : fallback.findAll();
+  }
+
+  /**
+   * 解码二进制牌目录
+   *
+   * @param buffer 整个文件内容
+   * @return 牌定义列表；文件头不匹配（旧版本或非牌目录文件）时返回 {@code null}
+   */
+  static List<TarotCard> decode(ByteBuffer buffer) {
+    if (buffer.remaining() < HEADER_SIZE
+        || buffer.getInt(0) != MAGIC
+        || buffer.getShort(4) != VERSION) {
+      return null;
+    }
+    int count = buffer.getShort(6) & 0xFFFF;
+    int stringTableLength = buffer.getInt(8);
+    int stringBase = HEADER_SIZE + count * RECORD_SIZE;
+    if (buffer.limit() != stringBase + stringTableLength) {
+      throw new IllegalStateException("二进制牌目录已损坏：长度不匹配");
+    }
+
+    byte[] bytes = buffer.array();
+    int offset = buffer.arrayOffset() + stringBase;
+    List<TarotCard> cards = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int record = HEADER_SIZE + i * RECORD_SIZE;
+      int idOffset = buffer.getInt(record);
+      int nameOffset = buffer.getInt(record + 4);
+      int idLength = buffer.getShort(record + 8) & 0xFFFF;
+      int nameLength = buffer.getShort(record + 10) & 0xFFFF;
+      String id = new String(bytes, offset + idOffset, idLength, StandardCharsets.UTF_8);
+      String name = new String(bytes, offset + nameOffset, nameLength, StandardCharsets.UTF_8);
+      Arcana arcana = ARCANA[code(buffer, record + 12, ARCANA.length, "arcana", i)];
+      Suit suit = SUITS[code(buffer, record + 13, SUITS.length, "suit", i)];
+      int number = buffer.getShort(record + 14);
+      cards.add(new TarotCard(id, name, arcana, suit, number, i));
+    }
+    return cards;
+  }
+
+  /** 读取枚举编号并检查范围，越界说明文件已损坏 */
+  private static int code(ByteBuffer buffer, int position, int size, String field, int index) {
+    int code = buffer.get(position) & 0xFF;
+    if (code >= size) {
+      throw new IllegalStateException(
+          "二进制牌目录已损坏：第 " + index + " 条记录的 " + field + " 编号 " + code + " 超出范围");
+    }
+    return code;
+  }
+}
@@ -0,0 +1,40 @@
+package tarot.repository;
+
+import java.util.List;
+import tarot.domain.CardCatalog;
+import tarot.domain.TarotCard;
+
+/**
+ * 带缓存的仓储装饰器 首次访问时从被装饰的仓储加载一次，之后始终返回同一个不可变的牌目录快照，
+ * 避免每次重置牌堆都重新读取资源文件并解析JSON
+ */
+public class CachingCardRepository implements CardRepository {
+
+  private final CardRepository delegate;
+
+  private volatile CardCatalog snapshot;
+
+  public CachingCardRepository(CardRepository delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public List<TarotCard> findAll() {
+    return catalog().getCards();
+  }
+
+  @Override
+  public CardCatalog catalog() {
+    CardCatalog current = snapshot;
+    if (current == null) {
+      synchronized (this) {
+        current = snapshot;
+        if (current == null) {
+          current = CardCatalog.of(delegate.findAll());
+          snapshot = current;
+        }
+      }
+    }
+    return current;
+  }
+}
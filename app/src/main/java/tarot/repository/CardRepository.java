@@ -1,6 +1,10 @@
 package tarot.repository;
 
 import java.util.List;
+import java.util.Optional;
+import tarot.domain.Arcana;
+import tarot.domain.CardCatalog;
+import tarot.domain.Suit;
 import tarot.domain.TarotCard;
 
 /** 牌数据的仓储接口 目前用JSON实现，将来可以换成数据库等 */
@@ -12,4 +16,56 @@ public interface CardRepository {
    * @return
    */
   List<TarotCard> findAll();
+
+  /**
+   * 返回由{@link #findAll()}构建的牌目录 默认每次调用都重新构建；下面的各个查询方法都依赖本方法，
+   * 因此数据不变的实现应缓存并返回同一个不可变快照（见{@link CachingCardRepository}），
+   * 每次都重新读取数据源的实现（如{@link JsonCardRepository#fromFile}）需要频繁查询时应先用缓存装饰
+   *
+   * @return
+   */
+  default CardCatalog catalog() {
+    return CardCatalog.of(findAll());
+  }
+
+  /**
+   * 按id查找牌 以下查询均基于{@link #catalog()}的预建索引，配合带缓存的实现使用时不会扫描全部牌
+   *
+   * @param id 牌的唯一标识
+   * @return
+   */
+  default Optional<TarotCard> findById(String id) {
+    return catalog().findById(id);
+  }
+
+  /**
+   * 某一花色的所有牌
+   *
+   * @param suit 花色
+   * @return
+   */
+  default List<TarotCard> findBySuit(Suit suit) {
+    return catalog().findBySuit(suit);
+  }
+
+  /**
+   * 某一阿尔卡纳类型的所有牌
+   *
+   * @param arcana 大/小阿尔卡纳
+   * @return
+   */
+  default List<TarotCard> findByArcana(Arcana arcana) {
+    return catalog().findByArcana(arcana);
+  }
+
+  /**
+   * 按花色与牌面序号查找牌
+   *
+   * @param suit 花色
+   * @param number 牌面序号
+   * @return
+   */
+  default Optional<TarotCard> findBySuitAndNumber(Suit suit, int number) {
+    return catalog().findBySuitAndNumber(suit, number);
+  }
 }
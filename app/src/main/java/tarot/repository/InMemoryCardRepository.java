@@ -3,13 +3,25 @@ package tarot.repository;
 import java.util.ArrayList;
 import java.util.List;
 import tarot.domain.Arcana;
+import tarot.domain.CardCatalog;
 import tarot.domain.Suit;
 import tarot.domain.TarotCard;
 
 public class InMemoryCardRepository implements CardRepository {
 
+  private final CardRepository cache = new CachingCardRepository(InMemoryCardRepository::load);
+
   @Override
   public List<TarotCard> findAll() {
+    return cache.findAll();
+  }
+
+  @Override
+  public CardCatalog catalog() {
+    return cache.catalog();
+  }
+
+  private static List<TarotCard> load() {
     List<TarotCard> cards = new ArrayList<>();
 
     // 大阿尔卡纳示例
@@ -2,22 +2,29 @@ package tarot.repository;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import tarot.domain.Arcana;
+import tarot.domain.CardCatalog;
 import tarot.domain.Suit;
 import tarot.domain.TarotCard;
 
+/** 从类路径JSON资源读取牌数据 资源内容不会变化，首次访问时解析一次并缓存牌目录快照 */
 public class JsonCardRepository implements CardRepository {
 
   private final String resourcePath;
+  private final CardRepository cache = new CachingCardRepository(this::load);
 
-  private final Gson gson = new Gson();
+  private static final Gson GSON = new Gson();
 
   public JsonCardRepository() {
     this("/tarot/cards.json");
@@ -29,16 +36,21 @@ public class JsonCardRepository implements CardRepository {
 
   @Override
   public List<TarotCard> findAll() {
+    return cache.findAll();
+  }
+
+  @Override
+  public CardCatalog catalog() {
+    return cache.catalog();
+  }
+
+  private List<TarotCard> load() {
     try (InputStream is = getClass().getResourceAsStream(resourcePath)) {
       if (is == null) {
         throw new IllegalStateException("资源文件 " + resourcePath + " 不存在");
       }
       try (Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8)) {
-        TarotCardJson[] dtoArray = gson.fromJson(reader, TarotCardJson[].class);
-        if (dtoArray.length == 0) {
-          throw new IllegalStateException("JSON解析结果为空：" + resourcePath);
-        }
-        return mapToDomain(Arrays.asList(dtoArray));
+        return parse(reader, resourcePath);
       }
     } catch (JsonSyntaxException e) {
       throw new IllegalStateException("JSON 语法错误：" + resourcePath, e);
@@ -47,7 +59,41 @@ public class JsonCardRepository implements CardRepository {
     }
   }
 
-  private List<TarotCard> mapToDomain(List<TarotCardJson> dtoList) {
+  /**
+   * 创建从外部JSON文件读取的仓储 每次调用{@code findAll()}都会重新读取文件，可配合缓存或牌组注册表使用
+   *
+   * @param file 外部 cards.json 路径
+   * @return
+   */
+  public static CardRepository fromFile(Path file) {
+    return () -> {
+      try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        return parse(reader, file.toString());
+      } catch (JsonSyntaxException e) {
+        throw new IllegalStateException("JSON 语法错误：" + file, e);
+      } catch (IOException e) {
+        throw new UncheckedIOException("加载塔罗牌JSON失败：" + file, e);
+      }
+    };
+  }
+
+  /**
+   * 从Reader中解析一组牌定义，供各种来源（类路径资源、外部文件）的仓储共用
+   *
+   * @param reader JSON数组输入
+   * @param source 数据来源描述，用于错误信息
+   * @return 牌定义列表
+   * @throws JsonSyntaxException JSON语法错误时抛出
+   */
+  static List<TarotCard> parse(Reader reader, String source) {
+    TarotCardJson[] dtoArray = GSON.fromJson(reader, TarotCardJson[].class);
+    if (dtoArray == null || dtoArray.length == 0) {
+      throw new IllegalStateException("JSON解析结果为空：" + source);
+    }
+    return mapToDomain(Arrays.asList(dtoArray));
+  }
+
+  private static List<TarotCard> mapToDomain(List<TarotCardJson> dtoList) {
     List<TarotCard> result = new ArrayList<>();
     for (TarotCardJson dto : dtoList) {
       Arcana arcana = Arcana.valueOf(dto.arcana);
@@ -0,0 +1,323 @@
+package tarot.repository;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import tarot.domain.Arcana;
+import tarot.domain.Suit;
+import tarot.domain.TarotCard;
+
+/**
+ * 面向用户自定义牌组的流式导入器。
+ *
+ * <p>与 {@link JsonCardRepository} 一次性绑定整个数组不同，本类基于 Gson 的 {@link JsonReader} 逐条读取记录：
+ *
+ * <ul>
+ *   <li>每次只缓存 {@code batchSize} 条原始记录；为检查 id 重复，已通过校验的 id 会保留到导入结束，
+ *       因此内存占用随牌数线性增长（每张牌一个 id 字符串），但与单条记录的大小及跳过的字段无关；
+ *   <li>同一批记录并行校验（字段缺失、未知的 {@link Arcana} / {@link Suit}、序号范围），id 重复在批次合并时按文件顺序检查；
+ *   <li>不认识的字段（如多语言名称）直接跳过；已知字段的值类型不对（例如 {@code "name": {...}}）时只记为该条记录的问题；
+ *   <li>单条记录出错不会中断导入，所有问题汇总在 {@link ImportReport} 中，只有 JSON 本身语法错误时才提前结束。
+ * </ul>
+ *
+ * 通过校验的牌按文件顺序交给调用方提供的 {@link Consumer}。
+ */
+public class StreamingDeckImporter {
+
+  private static final Map<String, Arcana> ARCANA_BY_NAME = namesOf(Arcana.values());
+  private static final Map<String, Suit> SUIT_BY_NAME = namesOf(Suit.values());
+
+  private final int batchSize;
+
+  public StreamingDeckImporter() {
+    this(1024);
+  }
+
+  /**
+   * @param batchSize 每批并行校验的记录数，即同时驻留内存的原始记录上限
+   */
+  public StreamingDeckImporter(int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("批大小至少为1，实际：" + batchSize);
+    }
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * 从外部文件导入
+   *
+   * @param file JSON 数组文件
+   * @param sink 接收通过校验的牌
+   * @return 导入报告
+   * @throws IOException 文件无法读取时抛出
+   */
+  public ImportReport importFrom(Path file, Consumer<TarotCard> sink) throws IOException {
+    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return importFrom(reader, sink);
+    }
+  }
+
+  /**
+   * 从输入流导入
+   *
+   * @param reader JSON 数组输入，由调用方负责关闭
+   * @param sink 接收通过校验的牌
+   * @return 导入报告
+   */
+  public ImportReport importFrom(Reader reader, Consumer<TarotCard> sink) {
+    List<ImportError> errors = new ArrayList<>();
+    Set<String> seenIds = new HashSet<>();
+    List<RawCard> batch = new ArrayList<>(Math.min(batchSize, 4096));
+    int total = 0;
+    int imported = 0;
+
+    // 只有读取 JSON 时的异常在这里处理，调用方的 sink 抛出的异常照常传给调用方
+    JsonReader json = new JsonReader(reader);
+    ImportError structureError = null;
+    boolean more = true;
+    try {
+      json.beginArray();
+    } catch (IOException | IllegalStateException e) {
+      structureError = structureError(0, e);
+      more = false;
+    }
+    while (more) {
+      try {
+        more = readBatch(json, batch, total);
+      } catch (IOException | IllegalStateException e) {
+        // JsonReader 在语法错误或结构不符时抛出，之后的内容无法再可靠解析
+        structureError = structureError(total + batch.size(), e);
+        more = false;
+      }
+      total += batch.size();
+      imported += flush(batch, seenIds, errors, sink);
+    }
+    if (structureError != null) {
+      errors.add(structureError);
+    }
+    return new ImportReport(total, imported, List.copyOf(errors));
+  }
+
+  /** 读取下一批记录，数组结束时返回 false */
+  private boolean readBatch(JsonReader json, List<RawCard> batch, int firstIndex)
+      throws IOException {
+    while (batch.size() < batchSize) {
+      if (!json.hasNext()) {
+        json.endArray();
+        return false;
+      }
+      batch.add(readRecord(json, firstIndex + batch.size()));
+    }
+    return true;
+  }
+
+  private static ImportError structureError(int index, Exception e) {
+    return new ImportError(index, null, "JSON 结构错误，导入提前结束：" + e.getMessage());
+  }
+
+  private int flush(
+      List<RawCard> batch,
+      Set<String> seenIds,
+      List<ImportError> errors,
+      Consumer<TarotCard> sink) {
+    List<Validated> results =
+        IntStream.range(0, batch.size()).parallel().mapToObj(i -> validate(batch.get(i))).toList();
+
+    int imported = 0;
+    for (Validated result : results) {
+      RawCard raw = result.raw();
+      // 只有通过校验的记录才占用 id，无效记录不会让之后同 id 的有效记录被判为重复
+      boolean duplicate = raw.id != null && seenIds.contains(raw.id);
+      if (duplicate) {
+        errors.add(new ImportError(raw.index, raw.id, "id 重复"));
+      }
+      for (String message : result.messages()) {
+        errors.add(new ImportError(raw.index, raw.id, message));
+      }
+      if (!duplicate && result.card() != null) {
+        seenIds.add(raw.id);
+        sink.accept(result.card());
+        imported++;
+      }
+    }
+    batch.clear();
+    return imported;
+  }
+
+  private static RawCard readRecord(JsonReader json, int index) throws IOException {
+    RawCard raw = new RawCard(index);
+    if (json.peek() != JsonToken.BEGIN_OBJECT) {
+      json.skipValue();
+      raw.structureError = "记录不是 JSON 对象";
+      return raw;
+    }
+    json.beginObject();
+    while (json.hasNext()) {
+      String field = json.nextName();
+      if (json.peek() == JsonToken.NULL) {
+        json.nextNull();
+        continue;
+      }
+      switch (field) {
+        case "id" -> raw.id = readString(json, raw, field);
+        case "name" -> raw.name = readString(json, raw, field);
+        case "arcana" -> raw.arcana = readString(json, raw, field);
+        case "suit" -> raw.suit = readString(json, raw, field);
+        case "number" -> raw.number = readNumber(json, raw, field);
+        default -> json.skipValue();
+      }
+    }
+    json.endObject();
+    return raw;
+  }
+
+  /** 读取字符串字段；值是对象、数组等其他类型时跳过该值并记录问题，返回 {@code null} */
+  private static String readString(JsonReader json, RawCard raw, String field) throws IOException {
+    JsonToken token = json.peek();
+    if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+      return json.nextString();
+    }
+    json.skipValue();
+    raw.fieldErrors.put(field, field + " 不是字符串：" + token);
+    return null;
+  }
+
+  /** 读取数字字段；值是字符串、对象等其他类型时跳过该值并记录问题，返回 {@code null} */
+  private static String readNumber(JsonReader json, RawCard raw, String field) throws IOException {
+    JsonToken token = json.peek();
+    if (token == JsonToken.NUMBER) {
+      return json.nextString();
+    }
+    if (token == JsonToken.STRING) {
+      raw.fieldErrors.put(field, field + " 不是数字：\"" + json.nextString() + "\"");
+    } else {
+      json.skipValue();
+      raw.fieldErrors.put(field, field + " 不是数字：" + token);
+    }
+    return null;
+  }
+
+  private static Validated validate(RawCard raw) {
+    List<String> messages = new ArrayList<>(2);
+    if (raw.structureError != null) {
+      messages.add(raw.structureError);
+      return new Validated(raw, null, messages);
+    }
+    messages.addAll(raw.fieldErrors.values());
+    if ((raw.id == null || raw.id.isBlank()) && !raw.fieldErrors.containsKey("id")) {
+      messages.add("缺少 id");
+    }
+    if ((raw.name == null || raw.name.isBlank()) && !raw.fieldErrors.containsKey("name")) {
+      messages.add("缺少 name");
+    }
+    Arcana arcana = raw.arcana == null ? null : ARCANA_BY_NAME.get(raw.arcana);
+    if (arcana == null && !raw.fieldErrors.containsKey("arcana")) {
+      messages.add("未知的 arcana：" + raw.arcana);
+    }
+    Suit suit = raw.suit == null ? null : SUIT_BY_NAME.get(raw.suit);
+    if (suit == null && !raw.fieldErrors.containsKey("suit")) {
+      messages.add("未知的 suit：" + raw.suit);
+    }
+    Integer number = parseNumber(raw.number);
+    if (raw.number == null && !raw.fieldErrors.containsKey("number")) {
+      messages.add("缺少 number");
+    } else if (raw.number != null && number == null) {
+      messages.add("number 不是整数：" + raw.number);
+    }
+
+    if (arcana == Arcana.MAJOR) {
+      if (suit != null && suit != Suit.NONE) {
+        messages.add("大阿尔卡纳的 suit 必须为 NONE");
+      }
+      if (number != null && (number < 0 || number > 21)) {
+        messages.add("大阿尔卡纳的 number 必须在 0-21 之间：" + number);
+      }
+    } else if (arcana == Arcana.MINOR) {
+      if (suit == Suit.NONE) {
+        messages.add("小阿尔卡纳必须指定花色");
+      }
+      if (number != null && (number < 1 || number > 14)) {
+        messages.add("小阿尔卡纳的 number 必须在 1-14 之间：" + number);
+      }
+    }
+
+    if (!messages.isEmpty()) {
+      return new Validated(raw, null, messages);
+    }
+    return new Validated(raw, new TarotCard(raw.id, raw.name, arcana, suit, number), messages);
+  }
+
+  private static Integer parseNumber(String number) {
+    if (number == null) {
+      return null;
+    }
+    try {
+      return Integer.valueOf(number);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static <E extends Enum<E>> Map<String, E> namesOf(E[] values) {
+    Map<String, E> byName = new HashMap<>();
+    for (E value : values) {
+      byName.put(value.name(), value);
+    }
+    return Map.copyOf(byName);
+  }
+
+  /** 尚未校验的原始记录，只保存导入关心的字段 */
+  private static final class RawCard {
+    private final int index;
+    private String id;
+    private String name;
+    private String arcana;
+    private String suit;
+    private String number;
+    private String structureError;
+    private final Map<String, String> fieldErrors = new LinkedHashMap<>();
+
+    private RawCard(int index) {
+      this.index = index;
+    }
+  }
+
+  private record Validated(RawCard raw, TarotCard card, List<String> messages) {}
+
+  /**
+   * 单条记录的导入问题
+   *
+   * @param index 记录在数组中的下标（从0开始）
+   * @param id 记录的 id，缺失时为 {@code null}
+   * @param message 问题描述
+   */
+  public record ImportError(int index, String id, String message) {}
+
+  /**
+   * 导入报告
+   *
+   * @param totalRecords 读取到的记录总数
+   * @param importedRecords 通过校验并交给调用方的记录数
+   * @param errors 按文件顺序排列的全部问题
+   */
+  public record ImportReport(int totalRecords, int importedRecords, List<ImportError> errors) {
+
+    /** 是否没有任何问题 */
+    public boolean isSuccessful() {
+      return errors.isEmpty();
+    }
+  }
+}
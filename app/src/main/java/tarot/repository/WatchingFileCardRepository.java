@@ -0,0 +1,188 @@
+package tarot.repository;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import tarot.domain.CardCatalog;
+import tarot.domain.TarotCard;
+
+/**
+ * 基于外部文件的可热更新仓储。
+ *
+ * <p>构造时同步加载一次外部 {@code cards.json}；调用 {@link #startWatching()} 后，后台守护线程通过 NIO {@link
+ * WatchService} 监听文件变化，在后台重新解析，并通过原子引用整体替换不可变的 {@link CardCatalog} 快照。
+ *
+ * <ul>
+ *   <li>读取方（{@link #findAll()}、{@link #catalog()}）只读取一次原子引用，永远不会被重新加载阻塞；
+ *   <li>已经基于旧快照创建的牌堆继续使用旧快照，直到下一次重置牌堆；
+ *   <li>新文件解析失败时保留旧快照，错误可通过 {@link #getLastError()} 查看；
+ *   <li>编辑器往往分几次写入文件，收到变化事件后等待一段静默期（默认 {@link #DEFAULT_DEBOUNCE}）
+ *       不再有新事件才重新加载，多个事件合并为一次；
+ *   <li>重新加载互斥执行，后开始的加载一定读到更新的文件内容，也一定更晚发布，不会被旧的解析结果覆盖。
+ * </ul>
+ */
+public class WatchingFileCardRepository implements CardRepository, AutoCloseable {
+
+  /** 默认的事件合并静默期 */
+  public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(200);
+
+  private final Path file;
+  private final long debounceNanos;
+  private final AtomicReference<CardCatalog> snapshot = new AtomicReference<>();
+  private final Object reloadLock = new Object();
+
+  private volatile Exception lastError;
+  private WatchService watchService;
+  private Thread watcher;
+
+  /**
+   * 同步加载外部牌数据文件
+   *
+   * @param file 外部 cards.json 路径
+   * @throws IllegalStateException 首次加载失败时抛出
+   */
+  public WatchingFileCardRepository(Path file) {
+    this(file, DEFAULT_DEBOUNCE);
+  }
+
+  /**
+   * 同步加载外部牌数据文件，并指定监听时的事件合并静默期
+   *
+   * @param file 外部 cards.json 路径
+   * @param debounce 最后一次变化事件之后等待多久才重新加载
+   * @throws IllegalStateException 首次加载失败时抛出
+   */
+  public WatchingFileCardRepository(Path file, Duration debounce) {
+    if (debounce.isNegative()) {
+      throw new IllegalArgumentException("静默期不能为负：" + debounce);
+    }
+    this.file = file.toAbsolutePath().normalize();
+    this.debounceNanos = debounce.toNanos();
+    if (!reload()) {
+      throw new IllegalStateException("加载外部塔罗牌JSON失败：" + this.file, lastError);
+    }
+  }
+
+  @Override
+  public List<TarotCard> findAll() {
+    return snapshot.get().getCards();
+  }
+
+  @Override
+  public CardCatalog catalog() {
+    return snapshot.get();
+  }
+
+  /**
+   * 立即重新解析文件，成功后原子替换快照；并发调用依次执行
+   *
+   * @return 是否成功发布了新快照；失败时旧快照保持不变
+   */
+  public boolean reload() {
+    synchronized (reloadLock) {
+      try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        List<TarotCard> cards = JsonCardRepository.parse(reader, file.toString());
+        snapshot.set(CardCatalog.of(cards));
+        lastError = null;
+        return true;
+      } catch (Exception e) {
+        lastError = e;
+        return false;
+      }
+    }
+  }
+
+  /**
+   * 最近一次加载失败的原因
+   *
+   * @return 最近一次加载成功后为 {@code null}
+   */
+  public Exception getLastError() {
+    return lastError;
+  }
+
+  /**
+   * 启动后台监听线程，重复调用无效果
+   *
+   * @return 当前仓储，便于链式调用
+   */
+  public synchronized WatchingFileCardRepository startWatching() {
+    if (watcher != null) {
+      return this;
+    }
+    try {
+      watchService = file.getFileSystem().newWatchService();
+      file.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+    } catch (IOException e) {
+      throw new UncheckedIOException("无法监听文件：" + file, e);
+    }
+    watcher = new Thread(this::watchLoop, "tarot-cards-watcher");
+    watcher.setDaemon(true);
+    watcher.start();
+    return this;
+  }
+
+  private void watchLoop() {
+    try {
+      while (true) {
+        WatchKey key = watchService.take();
+        boolean changed = drain(key);
+        if (!key.reset()) {
+          return;
+        }
+        if (!changed) {
+          continue;
+        }
+        // 静默期内陆续到达的事件合并为一次重新加载
+        while ((key = watchService.poll(debounceNanos, TimeUnit.NANOSECONDS)) != null) {
+          drain(key);
+          if (!key.reset()) {
+            return;
+          }
+        }
+        reload();
+      }
+    } catch (InterruptedException | ClosedWatchServiceException e) {
+      // 关闭仓储时退出监听
+    }
+  }
+
+  /** 取出全部事件，返回其中是否有本文件的变化 */
+  private boolean drain(WatchKey key) {
+    Path fileName = file.getFileName();
+    boolean changed = false;
+    for (WatchEvent<?> event : key.pollEvents()) {
+      // 事件溢出时无法确定具体文件，保守地重新加载
+      if (event.kind() == OVERFLOW || fileName.equals(event.context())) {
+        changed = true;
+      }
+    }
+    return changed;
+  }
+
+  /** 停止后台监听，已发布的快照仍可继续读取 */
+  @Override
+  public synchronized void close() throws IOException {
+    if (watcher != null) {
+      watcher.interrupt();
+      watchService.close();
+      watcher = null;
+      watchService = null;
+    }
+  }
+}
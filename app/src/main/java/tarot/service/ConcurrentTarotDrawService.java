@@ -0,0 +1,126 @@
+package tarot.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import tarot.deck.factory.DeckFactory;
+import tarot.domain.Deck;
+import tarot.domain.DrawResult;
+import tarot.domain.DrawnCard;
+import tarot.domain.SubDeckTemplate;
+import tarot.draw.random.RandomGeneratorProvider;
+import tarot.draw.strategy.DrawStrategy;
+import tarot.spread.Spread;
+import tarot.spread.SpreadResult;
+
+/**
+ * 可被多个线程同时调用的抽牌服务。
+ *
+ * <p>与{@link TarotDrawService}不同，本服务不保存“当前牌堆”：每次抽牌都是一次独立的占卜，从一副完整的牌开始。
+ * <ul>
+ * <li>每个线程持有自己的{@link Deck}（一个基于不可变{@link tarot.domain.CardCatalog 牌目录}的序号排列），
+ * 每次抽牌前通过{@link DeckFactory#resetDeck(Deck)}原地重置，不在线程之间共享可变状态；
+ * 策略{@linkplain DrawStrategy#requiresShuffledDeck() 要求已洗好的牌堆}时，所有抽牌入口都会先打乱牌堆顶；</li>
+ * <li>随机数生成器也按线程取用，建议使用{@link tarot.draw.random.SplittingRandomProvider}，
+ * 若传入共享的生成器，各线程会在同一个种子上竞争，无法随核数线性扩展；</li>
+ * <li>抽牌策略必须是无状态的，仓库中现有的策略都满足这一点。</li>
+ * </ul>
+ */
+public class ConcurrentTarotDrawService {
+
+  private final DeckFactory deckFactory;
+  private final DrawStrategy drawStrategy;
+  private final RandomGeneratorProvider randomProvider;
+  private final ThreadLocal<Deck> decks = new ThreadLocal<>();
+
+  public ConcurrentTarotDrawService(
+      DeckFactory deckFactory, DrawStrategy drawStrategy, RandomGeneratorProvider randomProvider) {
+    this.deckFactory = deckFactory;
+    this.drawStrategy = drawStrategy;
+    this.randomProvider = randomProvider;
+  }
+
+  /**
+   * 从一副完整的牌中抽取指定数量的牌
+   *
+   * @param count 抽牌数量
+   * @param enableReversed 是否启用逆位
+   * @return 抽牌结果
+   */
+  public DrawResult draw(int count, boolean enableReversed) {
+    RandomGenerator random = randomProvider.current();
+    Deck deck = prepare(freshDeck(), count, random);
+    List<DrawnCard> drawn = drawStrategy.draw(deck, count, enableReversed, random);
+    return new DrawResult(drawn, Instant.now());
+  }
+
+  /**
+   * 使用给定牌阵进行一次独立的占卜
+   *
+   * @param spread 牌阵定义
+   * @param enableReversed 是否启用逆位
+   * @return 带牌阵信息的抽牌结果
+   */
+  public SpreadResult draw(Spread spread, boolean enableReversed) {
+    return draw(spread, freshDeck(), enableReversed);
+  }
+
+  /**
+   * 只使用子牌堆模板中的牌进行一次独立的占卜
+   *
+   * @param spread 牌阵定义
+   * @param template 子牌堆模板
+   * @param enableReversed 是否启用逆位
+   * @return 带牌阵信息的抽牌结果
+   */
+  public SpreadResult draw(Spread spread, SubDeckTemplate template, boolean enableReversed) {
+    Deck deck = decks.get();
+    if (deck == null || deck.getCatalog() != template.getCatalog()) {
+      deck = new Deck(template.getCatalog());
+      decks.set(deck);
+    }
+    deck.reset(template);
+    return draw(spread, deck, enableReversed);
+  }
+
+  /**
+   * 使用给定牌阵进行一次独立的占卜，只把结果编码写入调用方的缓冲区，不分配任何对象
+   *
+   * @param spread 牌阵定义
+   * @param enableReversed 是否启用逆位
+   * @param codes 输出缓冲区，编码见{@link tarot.domain.CardCatalog#encode(int, boolean)}
+   * @param offset 写入的起始下标
+   */
+  public void drawCodes(Spread spread, boolean enableReversed, short[] codes, int offset) {
+    int count = spread.getCardCount();
+    RandomGenerator random = randomProvider.current();
+    Deck deck = prepare(freshDeck(), count, random);
+    drawStrategy.drawCodes(deck, count, enableReversed, random, codes, offset);
+  }
+
+  private SpreadResult draw(Spread spread, Deck deck, boolean enableReversed) {
+    int count = spread.getCardCount();
+    RandomGenerator random = randomProvider.current();
+    List<DrawnCard> drawn =
+        drawStrategy.draw(prepare(deck, count, random), count, enableReversed, random);
+    return new SpreadResult(spread, drawn, Instant.now());
+  }
+
+  /** 策略要求已洗好的牌堆时打乱牌堆顶的count张牌，所有抽牌入口都经过这里 */
+  private Deck prepare(Deck deck, int count, RandomGenerator random) {
+    if (drawStrategy.requiresShuffledDeck()) {
+      deck.shuffleTop(count, random);
+    }
+    return deck;
+  }
+
+  /** 取本线程的牌堆并恢复为一副完整的牌 */
+  private Deck freshDeck() {
+    Deck current = decks.get();
+    Deck deck = current == null ? deckFactory.createStandardDeck() : deckFactory.resetDeck(current);
+    if (deck != current) {
+      decks.set(deck);
+    }
+    return deck;
+  }
+}
@@ -3,12 +3,16 @@ package tarot.service;
 import java.time.Instant;
 import java.util.List;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 import tarot.deck.factory.DeckFactory;
 import tarot.domain.Deck;
 import tarot.domain.DrawResult;
 import tarot.domain.DrawnCard;
+import tarot.domain.SubDeckTemplate;
+import tarot.draw.random.RandomGeneratorProvider;
 import tarot.draw.strategy.DrawStrategy;
 import tarot.spread.Spread;
+import tarot.spread.SpreadBatch;
 import tarot.spread.SpreadResult;
 
 /** 塔罗牌抽牌服务，对外提供简单的抽牌接口 内部使用DeckFactory创建牌堆，使用DrawStrategy进行抽牌 */
@@ -16,15 +20,30 @@ public class TarotDrawService {
 
   private final DeckFactory deckFactory;
   private final DrawStrategy drawStrategy;
-  private final Random random;
+  private final RandomGeneratorProvider randomProvider;
 
   /** 当前使用中的牌堆 */
   private Deck currentDeck;
 
+  /** 按子牌堆模板抽牌时复用的独立牌堆，不影响当前牌堆 */
+  private Deck templateDeck;
+
   public TarotDrawService(DeckFactory deckFactory, DrawStrategy drawStrategy, Random random) {
+    this(deckFactory, drawStrategy, RandomGeneratorProvider.shared(random));
+  }
+
+  /**
+   * 使用随机数提供者创建服务，每次抽牌时从提供者取当前线程使用的随机数生成器
+   *
+   * @param deckFactory 牌堆工厂
+   * @param drawStrategy 抽牌策略
+   * @param randomProvider 随机数提供者，例如{@link tarot.draw.random.SplittingRandomProvider}
+   */
+  public TarotDrawService(
+      DeckFactory deckFactory, DrawStrategy drawStrategy, RandomGeneratorProvider randomProvider) {
     this.deckFactory = deckFactory;
     this.drawStrategy = drawStrategy;
-    this.random = random;
+    this.randomProvider = randomProvider;
     this.currentDeck = deckFactory.createStandardDeck();
   }
 
@@ -36,7 +55,9 @@ public class TarotDrawService {
    * @return 抽牌结果
    */
   public DrawResult draw(int count, boolean enableReversed) {
-    List<DrawnCard> drawn = drawStrategy.draw(currentDeck, count, enableReversed, random);
+    RandomGenerator random = randomProvider.current();
+    List<DrawnCard> drawn =
+        drawStrategy.draw(prepare(currentDeck, count, random), count, enableReversed, random);
     return new DrawResult(drawn, Instant.now());
   }
 
@@ -50,12 +71,108 @@ public class TarotDrawService {
   public SpreadResult draw(Spread spread, boolean enableReversed) {
 
     int count = spread.getCardCount();
-    List<DrawnCard> drawn = drawStrategy.draw(currentDeck, count, enableReversed, random);
+    RandomGenerator random = randomProvider.current();
+    List<DrawnCard> drawn =
+        drawStrategy.draw(prepare(currentDeck, count, random), count, enableReversed, random);
+    return new SpreadResult(spread, drawn, Instant.now());
+  }
+
+  /**
+   * 一次生成n次相互独立的占卜，结果写入列式数组
+   *
+   * <p>每次占卜都从一副完整的牌开始，通过抽牌策略的{@link DrawStrategy#drawCodes}直接写入整批的编码数组；
+   * 两次占卜之间只用{@link Deck#returnDrawn()}把上一次抽走的牌放回，不会把整副牌恢复为目录顺序；
+   * 策略{@linkplain DrawStrategy#requiresShuffledDeck() 要求已洗好的牌堆}时，每次占卜前再打乱牌堆顶；
+   * 策略的结果{@linkplain DrawStrategy#dependsOnInitialOrder() 取决于初始顺序}时，
+   * 每次占卜前改为用{@link Deck#reset()}恢复为目录顺序，使各次占卜相互独立。
+   * 整批只使用一个临时牌堆与一个编码数组，不影响{@link #getCurrentDeck() 当前牌堆}，
+   * 也不为每次占卜创建结果对象。
+   *
+   * @param spread 牌阵定义
+   * @param n 占卜次数
+   * @param enableReversed 是否启用逆位
+   * @return 批量结果，可按需取出单次占卜的视图
+   * @throws IllegalArgumentException n为负数或牌堆的牌不足一次占卜时抛出
+   */
+  public SpreadBatch drawBatch(Spread spread, int n, boolean enableReversed) {
+    if (n < 0) {
+      throw new IllegalArgumentException("占卜次数不能为负数：" + n);
+    }
+    int count = spread.getCardCount();
+    short[] codes = new short[Math.multiplyExact(n, count)];
+    Deck deck = deckFactory.createStandardDeck();
+    if (deck.size() < count) {
+      throw new IllegalArgumentException("牌堆剩余牌不足，无法抽取 " + count + " 张牌");
+    }
+    RandomGenerator random = randomProvider.current();
+    boolean shuffleTop = drawStrategy.requiresShuffledDeck();
+    boolean resetOrder = drawStrategy.dependsOnInitialOrder();
+
+    for (int reading = 0; reading < n; reading++) {
+      if (resetOrder) {
+        deck.reset();
+      } else {
+        deck.returnDrawn();
+      }
+      if (shuffleTop) {
+        deck.shuffleTop(count, random);
+      }
+      drawStrategy.drawCodes(deck, count, enableReversed, random, codes, reading * count);
+    }
+    return new SpreadBatch(spread, deck.getCatalog(), codes, n, Instant.now());
+  }
+
+  /**
+   * 只使用子牌堆模板中的牌进行抽牌，例如只用大阿尔卡纳
+   *
+   * <p>在一个单独复用的牌堆上原地恢复为模板中的牌后再抽，不会筛选或创建新的牌堆，
+   * {@link #getCurrentDeck() 当前牌堆}保持不变，之后的普通抽牌仍使用完整牌堆。
+   *
+   * @param spread 牌阵定义
+   * @param template 子牌堆模板，见{@code CardCatalog#template(String)}
+   * @param enableReversed 是否启用逆位
+   * @return 带牌阵信息的抽牌结果
+   */
+  public SpreadResult draw(Spread spread, SubDeckTemplate template, boolean enableReversed) {
+    if (templateDeck == null || templateDeck.getCatalog() != template.getCatalog()) {
+      templateDeck = new Deck(template.getCatalog());
+    }
+    templateDeck.reset(template);
+    int count = spread.getCardCount();
+    RandomGenerator random = randomProvider.current();
+    List<DrawnCard> drawn =
+        drawStrategy.draw(prepare(templateDeck, count, random), count, enableReversed, random);
     return new SpreadResult(spread, drawn, Instant.now());
   }
 
-  /** 重置牌堆，重新洗一副标准塔罗牌 */
+  /**
+   * 当前使用中的牌堆，可用于持久化连续抽牌的状态
+   *
+   * @return 当前牌堆
+   */
+  public Deck getCurrentDeck() {
+    return currentDeck;
+  }
+
+  /**
+   * 改用给定的牌堆继续抽牌，例如从持久化状态中恢复的牌堆
+   *
+   * @param deck 牌堆
+   */
+  public void restoreDeck(Deck deck) {
+    this.currentDeck = deck;
+  }
+
+  /** 重置牌堆，恢复为一副完整的标准塔罗牌 */
   public void resetDeck() {
-    this.currentDeck = deckFactory.createStandardDeck();
+    this.currentDeck = deckFactory.resetDeck(currentDeck);
+  }
+
+  /** 策略要求已洗好的牌堆时打乱牌堆顶的count张牌，单次抽牌的入口都经过这里 */
+  private Deck prepare(Deck deck, int count, RandomGenerator random) {
+    if (drawStrategy.requiresShuffledDeck()) {
+      deck.shuffleTop(count, random);
+    }
+    return deck;
   }
 }
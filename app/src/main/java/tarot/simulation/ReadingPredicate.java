@@ -0,0 +1,34 @@
+package tarot.simulation;
+
+import java.util.function.Predicate;
+import tarot.domain.TarotCard;
+
+/** 模拟时统计命中次数的条件，例如“至少两张大阿尔卡纳” */
+@FunctionalInterface
+public interface ReadingPredicate {
+
+  /**
+   * @param reading 本次占卜，仅在调用期间有效
+   * @return 本次占卜是否满足条件
+   */
+  boolean test(SimulatedReading reading);
+
+  /**
+   * 至少有min张牌满足条件
+   *
+   * @param filter 牌的条件，例如 {@code card -> card.getArcana() == Arcana.MAJOR}
+   * @param min 最少张数
+   * @return 占卜条件
+   */
+  static ReadingPredicate atLeast(Predicate<TarotCard> filter, int min) {
+    return reading -> {
+      int matched = 0;
+      for (int i = 0; i < reading.size(); i++) {
+        if (filter.test(reading.cardAt(i)) && ++matched >= min) {
+          return true;
+        }
+      }
+      return min <= 0;
+    };
+  }
+}
@@ -0,0 +1,40 @@
+package tarot.simulation;
+
+import tarot.domain.CardCatalog;
+import tarot.domain.TarotCard;
+
+/**
+ * 模拟中的一次占卜。
+ *
+ * <p>每个工作任务只创建一个实例并在每次占卜后覆盖内容，因此{@link ReadingPredicate}不应保存对它的引用。
+ */
+public final class SimulatedReading {
+
+  private final CardCatalog catalog;
+  final short[] codes;
+
+  SimulatedReading(CardCatalog catalog, int cardCount) {
+    this.catalog = catalog;
+    this.codes = new short[cardCount];
+  }
+
+  /** 本次占卜的牌数，与牌阵的牌位数相同 */
+  public int size() {
+    return codes.length;
+  }
+
+  /** 第position个牌位的牌序号 */
+  public int ordinalAt(int position) {
+    return CardCatalog.ordinalOf(codes[position]);
+  }
+
+  /** 第position个牌位是否逆位 */
+  public boolean isReversedAt(int position) {
+    return CardCatalog.isReversed(codes[position]);
+  }
+
+  /** 第position个牌位的牌 */
+  public TarotCard cardAt(int position) {
+    return catalog.get(ordinalAt(position));
+  }
+}
@@ -0,0 +1,92 @@
+package tarot.simulation;
+
+import tarot.domain.CardCatalog;
+import tarot.spread.Spread;
+
+/**
+ * 蒙特卡洛模拟的汇总结果，所有计数都以基本类型数组保存。
+ *
+ * <p>牌按{@link CardCatalog}中的序号索引；牌位×牌的计数按 {@code position * catalog.size() + ordinal} 展平存放。
+ */
+public final class SimulationResult {
+
+  private final Spread spread;
+  private final CardCatalog catalog;
+  private final long readings;
+  private final long[] cardCounts;
+  private final long[] reversedCounts;
+  private final long[] positionCounts;
+  private final long[] hits;
+
+  SimulationResult(
+      Spread spread,
+      CardCatalog catalog,
+      long readings,
+      long[] cardCounts,
+      long[] reversedCounts,
+      long[] positionCounts,
+      long[] hits) {
+    this.spread = spread;
+    this.catalog = catalog;
+    this.readings = readings;
+    this.cardCounts = cardCounts;
+    this.reversedCounts = reversedCounts;
+    this.positionCounts = positionCounts;
+    this.hits = hits;
+  }
+
+  /** 模拟的牌阵 */
+  public Spread getSpread() {
+    return spread;
+  }
+
+  /** 牌序号所属的牌目录 */
+  public CardCatalog getCatalog() {
+    return catalog;
+  }
+
+  /** 模拟的占卜次数 */
+  public long getReadings() {
+    return readings;
+  }
+
+  /** 某张牌在所有占卜中出现的次数 */
+  public long cardCount(int ordinal) {
+    return cardCounts[ordinal];
+  }
+
+  /** 某张牌以逆位出现的次数 */
+  public long reversedCount(int ordinal) {
+    return reversedCounts[ordinal];
+  }
+
+  /** 某张牌出现在指定牌位的次数 */
+  public long positionCount(int position, int ordinal) {
+    return positionCounts[position * catalog.size() + ordinal];
+  }
+
+  /**
+   * 第index个条件的命中次数
+   *
+   * @param index 条件在{@link SpreadSimulator#run}参数中的下标
+   * @return 命中次数
+   */
+  public long hits(int index) {
+    return hits[index];
+  }
+
+  /**
+   * 第index个条件的命中频率，即命中次数除以占卜次数
+   *
+   * @param index 条件下标
+   * @return
+   */
+  public double probability(int index) {
+    return readings == 0 ? 0 : (double) hits[index] / readings;
+  }
+
+  /** 某张牌在一次占卜中出现的频率 */
+  public double cardFrequency(int ordinal) {
+    return readings == 0 ? 0 : (double) cardCounts[ordinal] / readings;
+  }
+}
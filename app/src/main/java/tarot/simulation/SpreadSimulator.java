@@ -0,0 +1,175 @@
+package tarot.simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import tarot.domain.CardCatalog;
+import tarot.domain.Deck;
+import tarot.draw.strategy.DrawStrategy;
+import tarot.spread.Spread;
+
+/**
+ * 基于{@link Spread}与{@link DrawStrategy}的并行蒙特卡洛模拟。
+ *
+ * <p>N次占卜按固定大小的区间递归二分，交给{@link ForkJoinPool}执行：
+ * <ul>
+ * <li>每次二分前由父任务的{@link SplittableRandom}拆分出左半部分的生成器，拆分树只取决于N，
+ * 与线程数和调度顺序无关，因此同一个种子总能得到同样的结果；</li>
+ * <li>每个叶子任务只创建一个牌堆和一组基本类型计数数组，每次占卜后用{@link Deck#returnDrawn()}
+ * 放回抽走的牌，抽牌通过{@link DrawStrategy#drawCodes}写入复用的缓冲区，循环中不分配对象；</li>
+ * <li>策略{@linkplain DrawStrategy#requiresShuffledDeck() 要求已洗好的牌堆}时，每次占卜前先打乱牌堆顶，
+ * 否则每次都会抽到同样的牌；策略的结果{@linkplain DrawStrategy#dependsOnInitialOrder() 取决于初始顺序}时，
+ * 每次占卜前改为用{@link Deck#reset()}恢复为目录顺序；</li>
+ * <li>子任务的计数在合并时逐项相加。</li>
+ * </ul>
+ */
+public class SpreadSimulator {
+
+  /** 叶子任务的最大占卜次数 */
+  static final int CHUNK_SIZE = 1 << 14;
+
+  private final CardCatalog catalog;
+  private final DrawStrategy drawStrategy;
+  private final ForkJoinPool pool;
+
+  public SpreadSimulator(CardCatalog catalog, DrawStrategy drawStrategy) {
+    this(catalog, drawStrategy, ForkJoinPool.commonPool());
+  }
+
+  public SpreadSimulator(CardCatalog catalog, DrawStrategy drawStrategy, ForkJoinPool pool) {
+    this.catalog = catalog;
+    this.drawStrategy = drawStrategy;
+    this.pool = pool;
+  }
+
+  /**
+   * 模拟readings次独立的占卜
+   *
+   * @param spread 牌阵
+   * @param readings 占卜次数
+   * @param enableReversed 是否启用逆位
+   * @param seed 随机种子，相同参数与种子得到相同结果
+   * @param predicates 需要统计命中次数的条件，结果中按参数顺序取用
+   * @return 汇总结果
+   */
+  public SimulationResult run(
+      Spread spread, long readings, boolean enableReversed, long seed,
+      ReadingPredicate... predicates) {
+    if (readings < 0) {
+      throw new IllegalArgumentException("模拟次数不能为负数：" + readings);
+    }
+    if (spread.getCardCount() > catalog.size()) {
+      throw new IllegalArgumentException("牌堆剩余牌不足，无法抽取 " + spread.getCardCount() + " 张牌");
+    }
+    Job job = new Job(spread, enableReversed, predicates.clone());
+    Counters counters = pool.invoke(new Chunk(job, 0, readings, new SplittableRandom(seed)));
+    return new SimulationResult(
+        spread,
+        catalog,
+        readings,
+        counters.cards,
+        counters.reversed,
+        counters.positions,
+        counters.hits);
+  }
+
+  /** 一次模拟中所有任务共享的只读参数 */
+  private record Job(Spread spread, boolean enableReversed, ReadingPredicate[] predicates) {}
+
+  private final class Chunk extends RecursiveTask<Counters> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Job job;
+    private final long from;
+    private final long to;
+    private final SplittableRandom random;
+
+    Chunk(Job job, long from, long to, SplittableRandom random) {
+      this.job = job;
+      this.from = from;
+      this.to = to;
+      this.random = random;
+    }
+
+    @Override
+    protected Counters compute() {
+      if (to - from <= CHUNK_SIZE) {
+        return simulate();
+      }
+      long mid = from + (to - from) / 2;
+      Chunk left = new Chunk(job, from, mid, random.split());
+      Chunk right = new Chunk(job, mid, to, random);
+      left.fork();
+      Counters counters = right.compute();
+      counters.add(left.join());
+      return counters;
+    }
+
+    private Counters simulate() {
+      int count = job.spread().getCardCount();
+      int size = catalog.size();
+      Counters counters = new Counters(size, count, job.predicates().length);
+      SimulatedReading reading = new SimulatedReading(catalog, count);
+      Deck deck = new Deck(catalog);
+      boolean shuffleTop = drawStrategy.requiresShuffledDeck();
+      boolean resetOrder = drawStrategy.dependsOnInitialOrder();
+
+      for (long r = from; r < to; r++) {
+        if (resetOrder) {
+          deck.reset();
+        } else {
+          deck.returnDrawn();
+        }
+        if (shuffleTop) {
+          deck.shuffleTop(count, random);
+        }
+        drawStrategy.drawCodes(deck, count, job.enableReversed(), random, reading.codes, 0);
+        for (int position = 0; position < count; position++) {
+          int code = reading.codes[position];
+          int ordinal = CardCatalog.ordinalOf(code);
+          counters.cards[ordinal]++;
+          counters.positions[position * size + ordinal]++;
+          if (CardCatalog.isReversed(code)) {
+            counters.reversed[ordinal]++;
+          }
+        }
+        for (int p = 0; p < counters.hits.length; p++) {
+          if (job.predicates()[p].test(reading)) {
+            counters.hits[p]++;
+          }
+        }
+      }
+      return counters;
+    }
+  }
+
+  /** 单个任务的计数 */
+  private static final class Counters {
+
+    final long[] cards;
+    final long[] reversed;
+    final long[] positions;
+    final long[] hits;
+
+    Counters(int catalogSize, int cardCount, int predicates) {
+      this.cards = new long[catalogSize];
+      this.reversed = new long[catalogSize];
+      this.positions = new long[catalogSize * cardCount];
+      this.hits = new long[predicates];
+    }
+
+    void add(Counters other) {
+      add(cards, other.cards);
+      add(reversed, other.reversed);
+      add(positions, other.positions);
+      add(hits, other.hits);
+    }
+
+    private static void add(long[] target, long[] source) {
+      for (int i = 0; i < target.length; i++) {
+        target[i] += source[i];
+      }
+    }
+  }
+}
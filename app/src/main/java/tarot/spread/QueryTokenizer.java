@@ -0,0 +1,273 @@
+package tarot.spread;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 问题文本的分词器：由 {@link TermScanner} 扫描出词项区间与哈希，直接映射为词表编号并累加词频，
+ * 再由 {@link SynonymMatcher} 扫描一遍计入同义词对应的规范词，
+ * 最后输出与 {@link SparseTermVector#of(Map, TermVocabulary)} 相同的归一化权重。
+ * <p>
+ * 词项按哈希在开放寻址表中查找，命中后再逐字符比对原文，不会因哈希冲突误判；
+ * 查询过程中不创建字符串、装箱整数或词频表，每个线程复用一份计数缓冲区。
+ * <ul>
+ * <li>表中编号 {@code [0, 词表大小)} 与词表编号一致，其后是不在词表中的规范词，用于计算模长；</li>
+ * <li>不在表中的词项计入另一张按哈希去重的计数表，同样只用于计算模长。</li>
+ * </ul>
+ */
+final class QueryTokenizer {
+
+  private final int vocabularySize;
+  private final SynonymMatcher synonyms;
+  private final String[] terms;
+  private final int[] canonicalIds;
+  private final long[] slotHashes;
+  private final int[] slotIds;
+  private final int mask;
+  private final ThreadLocal<Scratch> scratches;
+
+  /**
+   * @param vocabulary 画像词表
+   * @param synonyms 同义词匹配器
+   */
+  QueryTokenizer(TermVocabulary vocabulary, SynonymMatcher synonyms) {
+    this.vocabularySize = vocabulary.size();
+    this.synonyms = synonyms;
+    TreeSet<String> extra = new TreeSet<>();
+    for (int i = 0; i < synonyms.canonicalCount(); i++) {
+      if (vocabulary.id(synonyms.canonical(i)) < 0) {
+        extra.add(synonyms.canonical(i));
+      }
+    }
+    this.terms = new String[vocabularySize + extra.size()];
+    for (int id = 0; id < vocabularySize; id++) {
+      terms[id] = vocabulary.term(id);
+    }
+    int next = vocabularySize;
+    for (String term : extra) {
+      terms[next++] = term;
+    }
+
+    int capacity = Integer.highestOneBit(Math.max(terms.length, 1) * 2 - 1) << 1;
+    this.mask = capacity - 1;
+    this.slotHashes = new long[capacity];
+    this.slotIds = new int[capacity];
+    for (int id = 0; id < terms.length; id++) {
+      long hash = TermScanner.hash(terms[id], 0, terms[id].length());
+      int slot = spread(hash) & mask;
+      while (slotIds[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      slotHashes[slot] = hash;
+      slotIds[slot] = id + 1;
+    }
+
+    this.canonicalIds = new int[synonyms.canonicalCount()];
+    for (int i = 0; i < canonicalIds.length; i++) {
+      String canonical = synonyms.canonical(i);
+      long hash = TermScanner.hash(canonical, 0, canonical.length());
+      canonicalIds[i] = find(canonical, 0, canonical.length(), hash);
+    }
+    this.scratches = ThreadLocal.withInitial(Scratch::new);
+  }
+
+  /**
+   * 对问题分词并把归一化向量写入当前线程的缓冲区。
+   * <p>
+   * 返回的缓冲区只在同一线程下一次调用前有效。
+   *
+   * @param text 问题文本
+   * @return 当前线程的查询向量
+   */
+  QueryVector tokenize(CharSequence text) {
+    Scratch scratch = scratches.get();
+    scratch.clear();
+    TermScanner.scan(text, scratch);
+    synonyms.match(text, scratch);
+    scratch.finish();
+    return scratch;
+  }
+
+  private int find(CharSequence text, int start, int end, long hash) {
+    int length = end - start;
+    for (int slot = spread(hash) & mask; slotIds[slot] != 0; slot = (slot + 1) & mask) {
+      if (slotHashes[slot] == hash) {
+        String term = terms[slotIds[slot] - 1];
+        if (term.length() == length && TermScanner.regionEquals(text, start, term, 0, length)) {
+          return slotIds[slot] - 1;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private static int spread(long hash) {
+    long mixed = hash * 0x9E3779B97F4A7C15L;
+    return (int) (mixed >>> 32);
+  }
+
+  /** 问题的归一化向量：按编号升序排列的词表编号与对应权重 */
+  interface QueryVector {
+
+    /** 原文是否没有任何词项 */
+    boolean isEmpty();
+
+    /** 词表内的词项数 */
+    int size();
+
+    /** 词项编号数组，只有前 {@link #size()} 个有效 */
+    int[] ids();
+
+    /** 权重数组，只有前 {@link #size()} 个有效 */
+    float[] weights();
+  }
+
+  private final class Scratch implements TermScanner.Sink, SynonymMatcher.Listener, QueryVector {
+
+    private final int[] counts = new int[terms.length];
+    private final int[] touched = new int[terms.length];
+    private int touchedCount;
+
+    private long[] unknownHashes = new long[64];
+    private int[] unknownStarts = new int[64];
+    private int[] unknownLengths = new int[64];
+    private int[] unknownCounts = new int[64];
+    private int[] unknownUsed = new int[32];
+    private int unknownSize;
+    private CharSequence text;
+
+    private final int[] ids = new int[vocabularySize];
+    private final float[] weights = new float[vocabularySize];
+    private int size;
+    private double magnitude;
+
+    @Override
+    public void term(CharSequence text, int start, int end, long hash) {
+      int id = find(text, start, end, hash);
+      if (id < 0) {
+        this.text = text;
+        addUnknown(start, end - start, hash);
+        return;
+      }
+      add(id);
+    }
+
+    @Override
+    public void phrase(int start, int end, int canonical) {
+      add(canonicalIds[canonical]);
+    }
+
+    private void add(int id) {
+      if (counts[id]++ == 0) {
+        touched[touchedCount++] = id;
+      }
+    }
+
+    private void addUnknown(int start, int length, long hash) {
+      int mask = unknownCounts.length - 1;
+      int slot = spread(hash) & mask;
+      while (unknownCounts[slot] != 0) {
+        if (unknownHashes[slot] == hash && unknownLengths[slot] == length
+            && TermScanner.regionEquals(text, unknownStarts[slot], text, start, length)) {
+          unknownCounts[slot]++;
+          return;
+        }
+        slot = (slot + 1) & mask;
+      }
+      unknownHashes[slot] = hash;
+      unknownStarts[slot] = start;
+      unknownLengths[slot] = length;
+      unknownCounts[slot] = 1;
+      unknownUsed[unknownSize++] = slot;
+      if (unknownSize == unknownUsed.length) {
+        growUnknown();
+      }
+    }
+
+    /** 未知词项数达到容量一半时扩容并重新散列 */
+    private void growUnknown() {
+      long[] oldHashes = unknownHashes;
+      int[] oldStarts = unknownStarts;
+      int[] oldLengths = unknownLengths;
+      int[] oldCounts = unknownCounts;
+      int[] oldUsed = unknownUsed;
+      int capacity = oldCounts.length << 1;
+      unknownHashes = new long[capacity];
+      unknownStarts = new int[capacity];
+      unknownLengths = new int[capacity];
+      unknownCounts = new int[capacity];
+      unknownUsed = new int[capacity >> 1];
+      int mask = capacity - 1;
+      for (int i = 0; i < unknownSize; i++) {
+        int old = oldUsed[i];
+        int slot = spread(oldHashes[old]) & mask;
+        while (unknownCounts[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        unknownHashes[slot] = oldHashes[old];
+        unknownStarts[slot] = oldStarts[old];
+        unknownLengths[slot] = oldLengths[old];
+        unknownCounts[slot] = oldCounts[old];
+        unknownUsed[i] = slot;
+      }
+    }
+
+    void finish() {
+      double sumOfSquares = 0;
+      size = 0;
+      for (int i = 0; i < touchedCount; i++) {
+        int id = touched[i];
+        int count = counts[id];
+        sumOfSquares += (double) count * count;
+        if (id < vocabularySize) {
+          ids[size++] = id;
+        }
+      }
+      for (int i = 0; i < unknownSize; i++) {
+        int count = unknownCounts[unknownUsed[i]];
+        sumOfSquares += (double) count * count;
+      }
+      text = null;
+
+      magnitude = Math.sqrt(sumOfSquares);
+      Arrays.sort(ids, 0, size);
+      for (int i = 0; i < size; i++) {
+        weights[i] = (float) (counts[ids[i]] / magnitude);
+      }
+    }
+
+    void clear() {
+      for (int i = 0; i < touchedCount; i++) {
+        counts[touched[i]] = 0;
+      }
+      touchedCount = 0;
+      for (int i = 0; i < unknownSize; i++) {
+        unknownCounts[unknownUsed[i]] = 0;
+      }
+      unknownSize = 0;
+      size = 0;
+      magnitude = 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return magnitude == 0;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public int[] ids() {
+      return ids;
+    }
+
+    @Override
+    public float[] weights() {
+      return weights;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package tarot.spread;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 稀疏词项向量：按编号升序排列的 {@code int[]} 词项编号与对应的 {@code float[]} 权重。
+ * <p>
+ * 权重在构建时即除以向量模长，两个向量的余弦相似度因此就是共有词项的权重乘积之和，
+ * 不再需要哈希查找与装箱，见 {@link SpreadIndex}。
+ */
+final class SparseTermVector {
+
+  static final SparseTermVector EMPTY = new SparseTermVector(new int[0], new float[0], 0);
+
+  private final int[] ids;
+  private final float[] weights;
+  private final double magnitude;
+
+  private SparseTermVector(int[] ids, float[] weights, double magnitude) {
+    this.ids = ids;
+    this.weights = weights;
+    this.magnitude = magnitude;
+  }
+
+  /**
+   * 由词频表构建归一化向量。
+   * <p>
+   * 模长按全部词项计算；不在词表中的词项不可能与任何画像匹配，只计入模长而不保存，
+   * 因此结果与按完整词频表计算的余弦相似度一致。
+   *
+   * @param counts 词项到频次的映射
+   * @param vocabulary 词表
+   * @return 归一化后的稀疏向量
+   */
+  static SparseTermVector of(Map<String, Integer> counts, TermVocabulary vocabulary) {
+    if (counts.isEmpty()) {
+      return EMPTY;
+    }
+    long[] packed = new long[counts.size()];
+    int size = 0;
+    double sumOfSquares = 0;
+    for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+      int count = entry.getValue();
+      sumOfSquares += (double) count * count;
+      int id = vocabulary.id(entry.getKey());
+      if (id >= 0) {
+        packed[size++] = (long) id << 32 | count;
+      }
+    }
+    Arrays.sort(packed, 0, size);
+
+    double magnitude = Math.sqrt(sumOfSquares);
+    int[] ids = new int[size];
+    float[] weights = new float[size];
+    for (int i = 0; i < size; i++) {
+      ids[i] = (int) (packed[i] >>> 32);
+      weights[i] = (float) ((int) packed[i] / magnitude);
+    }
+    return new SparseTermVector(ids, weights, magnitude);
+  }
+
+  /**
+   * 判断向量是否为空（原文本没有任何词项）。
+   *
+   * @return true 表示没有词项
+   */
+  boolean isEmpty() {
+    return magnitude == 0;
+  }
+
+  /** 保存的（词表内）词项数。 */
+  int size() {
+    return ids.length;
+  }
+
+  /** 第 i 个词项的编号，按升序排列。 */
+  int idAt(int i) {
+    return ids[i];
+  }
+
+  /** 第 i 个词项的归一化权重。 */
+  float weightAt(int i) {
+    return weights[i];
+  }
+}
@@ -0,0 +1,120 @@
+package tarot.spread;
+
+import java.time.Instant;
+import tarot.domain.CardCatalog;
+import tarot.domain.DrawnCard;
+import tarot.domain.PackedDrawnCards;
+
+/**
+ * 同一牌阵的一批独立抽牌结果，以列式基本类型数组保存。
+ * <p>
+ * 所有占卜的牌按「占卜序号 × 牌位」依次写入同一个 {@code short[]}，每个元素是
+ * {@link CardCatalog#encode(int, boolean) 序号与逆位标记的紧凑编码}：
+ * <ul>
+ * <li>第 {@code r} 次占卜第 {@code p} 个牌位位于下标 {@code r * getCardCount() + p}；</li>
+ * <li>整批共享一个牌阵引用与一个时间戳，不为每次占卜创建对象；</li>
+ * <li>需要时可通过 {@link #get(int)} 按需取出单次占卜的 {@link SpreadResult} 视图，视图不复制数据。</li>
+ * </ul>
+ */
+public class SpreadBatch {
+
+  private final Spread spread;
+  private final CardCatalog catalog;
+  private final short[] codes;
+  private final int cardCount;
+  private final int readings;
+  private final Instant timestamp;
+
+  /**
+   * @param spread    牌阵定义
+   * @param catalog   编码所属的牌目录
+   * @param codes     长度为 {@code readings * spread.getCardCount()} 的编码数组；构造后不应再修改
+   * @param readings  占卜次数
+   * @param timestamp 整批抽牌的时间戳
+   * @throws IllegalArgumentException 数组长度与占卜次数、牌阵牌数不一致时抛出
+   */
+  public SpreadBatch(
+      Spread spread, CardCatalog catalog, short[] codes, int readings, Instant timestamp) {
+    this.cardCount = spread.getCardCount();
+    if ((long) readings * cardCount != codes.length) {
+      throw new IllegalArgumentException(
+          "批量结果需要：" + readings + "×" + cardCount + "张牌, 但实际得到：" + codes.length + "张牌");
+    }
+    this.spread = spread;
+    this.catalog = catalog;
+    this.codes = codes;
+    this.readings = readings;
+    this.timestamp = timestamp;
+  }
+
+  /** 使用的牌阵 */
+  public Spread getSpread() {
+    return spread;
+  }
+
+  /** 编码所属的牌目录 */
+  public CardCatalog getCatalog() {
+    return catalog;
+  }
+
+  /** 占卜次数 */
+  public int size() {
+    return readings;
+  }
+
+  /** 每次占卜的牌数 */
+  public int getCardCount() {
+    return cardCount;
+  }
+
+  /** 整批抽牌的时间戳 */
+  public Instant getTimestamp() {
+    return timestamp;
+  }
+
+  /**
+   * 第 reading 次占卜第 position 个牌位的牌序号。
+   *
+   * @param reading  占卜序号
+   * @param position 牌位序号
+   * @return 牌在 {@link #getCatalog()} 中的序号
+   */
+  public int ordinalAt(int reading, int position) {
+    return CardCatalog.ordinalOf(codes[index(reading, position)]);
+  }
+
+  /**
+   * 第 reading 次占卜第 position 个牌位是否逆位。
+   */
+  public boolean isReversedAt(int reading, int position) {
+    return CardCatalog.isReversed(codes[index(reading, position)]);
+  }
+
+  /**
+   * 第 reading 次占卜第 position 个牌位的共享 {@link DrawnCard}。
+   */
+  public DrawnCard drawnCardAt(int reading, int position) {
+    return catalog.drawn(codes[index(reading, position)]);
+  }
+
+  /**
+   * 按需创建第 reading 次占卜的结果视图。
+   *
+   * @param reading 占卜序号
+   * @return 引用本批数据的 {@link SpreadResult}
+   */
+  public SpreadResult get(int reading) {
+    if (reading < 0 || reading >= readings) {
+      throw new IndexOutOfBoundsException(reading);
+    }
+    PackedDrawnCards cards = new PackedDrawnCards(catalog, codes, reading * cardCount, cardCount);
+    return new SpreadResult(spread, cards, timestamp);
+  }
+
+  private int index(int reading, int position) {
+    if (reading < 0 || reading >= readings || position < 0 || position >= cardCount) {
+      throw new IndexOutOfBoundsException("占卜 " + reading + " 牌位 " + position);
+    }
+    return reading * cardCount + position;
+  }
+}
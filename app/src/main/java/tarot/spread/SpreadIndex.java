@@ -0,0 +1,206 @@
+package tarot.spread;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 牌阵画像的倒排索引：词项编号 → 倒排表（画像编号，画像中该词项的归一化权重）。
+ * <p>
+ * 查询时只遍历问题中出现的词项的倒排表，把权重乘积累加到对应画像上，
+ * 没有与问题共享任何词项的画像不会被访问，耗时只与问题的词项数及其倒排表长度有关。
+ * <ul>
+ * <li>倒排表以 CSR 形式保存在三个基本类型数组中；</li>
+ * <li>每个线程复用一个得分累加器，只清理本次查询涉及的画像；</li>
+ * <li>同名画像通过哈希表去重，只保留排名最高的一个；再用容量为 k 的小顶堆选出前 k 名，不对全部结果排序。</li>
+ * </ul>
+ * 排名规则：得分降序，牌数升序，名称升序，最后按画像编号升序。
+ */
+final class SpreadIndex {
+
+  private final int[] offsets;
+  private final int[] postingProfiles;
+  private final float[] postingWeights;
+  private final int[] cardCounts;
+  private final String[] names;
+  private final ThreadLocal<Accumulator> accumulators;
+
+  /**
+   * @param vectors 各画像的归一化向量，下标即画像编号
+   * @param spreads 各画像对应的牌阵，用于排名与去重
+   * @param vocabularySize 词表大小
+   */
+  SpreadIndex(List<SparseTermVector> vectors, List<Spread> spreads, int vocabularySize) {
+    int profiles = vectors.size();
+    this.offsets = new int[vocabularySize + 1];
+    for (SparseTermVector vector : vectors) {
+      for (int i = 0; i < vector.size(); i++) {
+        offsets[vector.idAt(i) + 1]++;
+      }
+    }
+    for (int term = 0; term < vocabularySize; term++) {
+      offsets[term + 1] += offsets[term];
+    }
+    this.postingProfiles = new int[offsets[vocabularySize]];
+    this.postingWeights = new float[offsets[vocabularySize]];
+    int[] next = offsets.clone();
+    for (int profile = 0; profile < profiles; profile++) {
+      SparseTermVector vector = vectors.get(profile);
+      for (int i = 0; i < vector.size(); i++) {
+        int slot = next[vector.idAt(i)]++;
+        postingProfiles[slot] = profile;
+        postingWeights[slot] = vector.weightAt(i);
+      }
+    }
+
+    this.cardCounts = new int[profiles];
+    this.names = new String[profiles];
+    for (int profile = 0; profile < profiles; profile++) {
+      cardCounts[profile] = spreads.get(profile).getCardCount();
+      names[profile] = spreads.get(profile).getName();
+    }
+    this.accumulators = ThreadLocal.withInitial(() -> new Accumulator(profiles));
+  }
+
+  /**
+   * 检索与问题最相近的画像。
+   *
+   * @param query 问题的归一化向量
+   * @param minScore 最低得分（含）
+   * @param limit 最多返回的画像数
+   * @return 按排名排列的画像编号，名称互不相同
+   */
+  int[] search(QueryTokenizer.QueryVector query, double minScore, int limit) {
+    int[] ids = query.ids();
+    float[] weights = query.weights();
+    Accumulator accumulator = accumulators.get();
+    try {
+      for (int i = 0; i < query.size(); i++) {
+        int term = ids[i];
+        float weight = weights[i];
+        for (int slot = offsets[term]; slot < offsets[term + 1]; slot++) {
+          accumulator.add(postingProfiles[slot], weight * postingWeights[slot]);
+        }
+      }
+
+      Map<String, Integer> bestByName = new HashMap<>();
+      for (int i = 0; i < accumulator.touchedCount; i++) {
+        int profile = accumulator.touched[i];
+        if (accumulator.scores[profile] >= minScore) {
+          bestByName.merge(names[profile], profile,
+              (current, candidate) ->
+                  ranksBefore(accumulator.scores, candidate, current) ? candidate : current);
+        }
+      }
+
+      int[] heap = new int[Math.min(limit, bestByName.size())];
+      int size = 0;
+      for (int profile : bestByName.values()) {
+        if (size < heap.length) {
+          heap[size] = profile;
+          siftUp(accumulator.scores, heap, size++);
+        } else if (heap.length > 0 && ranksBefore(accumulator.scores, profile, heap[0])) {
+          heap[0] = profile;
+          siftDown(accumulator.scores, heap, size);
+        }
+      }
+
+      // 依次弹出最差的一个，从后往前填，得到从好到差的顺序
+      int[] ranked = new int[size];
+      for (int i = size - 1; i >= 0; i--) {
+        ranked[i] = heap[0];
+        heap[0] = heap[i];
+        siftDown(accumulator.scores, heap, i);
+      }
+      return ranked;
+    } finally {
+      accumulator.clear();
+    }
+  }
+
+  /** a 是否排在 b 前面 */
+  private boolean ranksBefore(double[] scores, int a, int b) {
+    int byScore = Double.compare(scores[b], scores[a]);
+    if (byScore != 0) {
+      return byScore < 0;
+    }
+    if (cardCounts[a] != cardCounts[b]) {
+      return cardCounts[a] < cardCounts[b];
+    }
+    int byName = names[a].compareTo(names[b]);
+    if (byName != 0) {
+      return byName < 0;
+    }
+    return a < b;
+  }
+
+  /** 小顶堆：堆顶是当前排名最靠后的画像 */
+  private void siftUp(double[] scores, int[] heap, int index) {
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (!ranksBefore(scores, heap[parent], heap[index])) {
+        return;
+      }
+      swap(heap, parent, index);
+      index = parent;
+    }
+  }
+
+  private void siftDown(double[] scores, int[] heap, int size) {
+    int index = 0;
+    while (true) {
+      int worst = index;
+      int left = index * 2 + 1;
+      int right = left + 1;
+      if (left < size && ranksBefore(scores, heap[worst], heap[left])) {
+        worst = left;
+      }
+      if (right < size && ranksBefore(scores, heap[worst], heap[right])) {
+        worst = right;
+      }
+      if (worst == index) {
+        return;
+      }
+      swap(heap, index, worst);
+      index = worst;
+    }
+  }
+
+  private static void swap(int[] heap, int i, int j) {
+    int tmp = heap[i];
+    heap[i] = heap[j];
+    heap[j] = tmp;
+  }
+
+  /** 每线程复用的得分累加器，只记录并清理本次查询涉及的画像 */
+  private static final class Accumulator {
+
+    final double[] scores;
+    final boolean[] seen;
+    final int[] touched;
+    int touchedCount;
+
+    Accumulator(int profiles) {
+      this.scores = new double[profiles];
+      this.seen = new boolean[profiles];
+      this.touched = new int[profiles];
+    }
+
+    void add(int profile, double value) {
+      if (!seen[profile]) {
+        seen[profile] = true;
+        touched[touchedCount++] = profile;
+      }
+      scores[profile] += value;
+    }
+
+    void clear() {
+      for (int i = 0; i < touchedCount; i++) {
+        int profile = touched[i];
+        scores[profile] = 0;
+        seen[profile] = false;
+      }
+      touchedCount = 0;
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package tarot.spread;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import tarot.spread.SpreadRecommender.SpreadSuggestion;
+
+/**
+ * 带缓存的牌阵推荐服务。
+ * <p>
+ * 线上的问题高度重复，因此以 {@link SpreadRecommender#normalizeQuestion(String) 规范化后的问题文本} 为键，
+ * 把推荐结果放入有界的并发缓存：
+ * <ul>
+ * <li>缓存基于 Guava {@link com.google.common.cache.Cache}，超过容量时按近似 LRU 淘汰；</li>
+ * <li>命中时只做一次小写与空白规范化，不再分词与打分；</li>
+ * <li>牌阵目录版本变化时（见构造参数 {@code catalogVersion}）整体失效，也可以手动调用 {@link #invalidateAll()}；
+ * 缓存键包含查询开始时的目录版本与失效代数，失效前已开始的加载即使在失效后才写入，也不会被之后的查询读到；</li>
+ * <li>命中率等统计见 {@link #stats()}。</li>
+ * </ul>
+ * 推荐结果本身是不可修改列表，可以安全地在多个调用方之间共享。
+ */
+public class SpreadRecommendationService {
+
+  /** 默认最多缓存的问题数 */
+  public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+  private final LongSupplier catalogVersion;
+  private final AtomicLong cachedVersion;
+  private final AtomicLong generation = new AtomicLong();
+  private final LoadingCache<Key, List<SpreadSuggestion>> cache;
+
+  /** 使用内置牌阵目录与默认容量 */
+  public SpreadRecommendationService() {
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * 使用内置牌阵目录
+   *
+   * @param maximumSize 最多缓存的问题数
+   */
+  public SpreadRecommendationService(long maximumSize) {
+    this(SpreadRecommender::recommend, () -> 0L, maximumSize);
+  }
+
+  /**
+   * @param recommender 实际的推荐逻辑，传入的问题已规范化
+   * @param catalogVersion 牌阵目录版本，每次查询前读取，与上次不同时清空缓存
+   * @param maximumSize 最多缓存的问题数
+   */
+  public SpreadRecommendationService(
+      Function<String, List<SpreadSuggestion>> recommender,
+      LongSupplier catalogVersion,
+      long maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("缓存容量必须为正数：" + maximumSize);
+    }
+    this.catalogVersion = catalogVersion;
+    this.cachedVersion = new AtomicLong(catalogVersion.getAsLong());
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build(CacheLoader.from(key -> recommender.apply(key.question())));
+  }
+
+  /**
+   * 基于用户输入问题返回推荐牌阵列表，结果与 {@link SpreadRecommender#recommend(String)} 相同。
+   *
+   * @param question 用户输入的问题，允许为空或空白
+   * @return 非空列表，包含按优先级排序的推荐结果
+   */
+  public List<SpreadSuggestion> recommend(String question) {
+    long version = catalogVersion.getAsLong();
+    long cached = cachedVersion.get();
+    if (version != cached && cachedVersion.compareAndSet(cached, version)) {
+      // 旧版本的条目已不会再被读到，这里只是及早释放
+      cache.invalidateAll();
+    }
+    Key key = new Key(version, generation.get(), SpreadRecommender.normalizeQuestion(question));
+    return cache.getUnchecked(key);
+  }
+
+  /** 清空缓存，例如牌阵目录在外部发生变化之后 */
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  /** 当前的缓存统计 */
+  public Stats stats() {
+    CacheStats stats = cache.stats();
+    return new Stats(stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.size());
+  }
+
+  /** 缓存键：目录版本、失效代数与规范化后的问题 */
+  private record Key(long catalogVersion, long generation, String question) {
+  }
+
+  /**
+   * 缓存统计快照
+   *
+   * @param hits 命中次数
+   * @param misses 未命中次数
+   * @param evictions 因容量限制淘汰的次数
+   * @param size 当前缓存的问题数
+   */
+  public record Stats(long hits, long misses, long evictions, long size) {
+
+    /** 命中率，没有任何请求时为0 */
+    public double hitRate() {
+      long total = hits + misses;
+      return total == 0 ? 0 : (double) hits / total;
+    }
+  }
+}
@@ -2,13 +2,10 @@ package tarot.spread;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * 根据用户问题推荐合适的牌阵。
@@ -16,8 +13,10 @@ import java.util.regex.Pattern;
  * 当前实现基于牌阵描述文本的轻量级近似匹配，保持纯离线且可扩展：
  * <ul>
  * <li>每个牌阵根据名称与牌位描述生成“语义画像”；</li>
- * <li>将用户问题与画像做字符 n-gram 相似度对比；</li>
- * <li>按相似度排序并返回前若干个结果；</li>
+ * <li>画像中的词项预先编译为整数编号的 {@link TermVocabulary 词表}，画像保存为归一化的 {@link SparseTermVector 稀疏向量}；</li>
+ * <li>用户问题由 {@link QueryTokenizer} 单次扫描，n-gram 按哈希直接映射为词表编号，不创建中间字符串；</li>
+ * <li>将用户问题与画像做字符 n-gram 相似度对比，只通过 {@link SpreadIndex 倒排索引} 访问与问题共享词项的画像；</li>
+ * <li>按相似度选出前若干个结果；</li>
  * <li>若输入为空或相似度过低，则返回默认推荐。</li>
  * </ul>
  * 如需接入更复杂的意图解析（例如模型服务），可在 {@link #recommend(String)} 内替换或追加策略。
@@ -34,46 +33,33 @@ public final class SpreadRecommender {
       suggestion(new SingleCardSpread(), "适合开放式问题的整体提示"),
       suggestion(new PatternBasedSpread("三张牌", ThreeCardPattern.PAST_PRESENT_FUTURE), "基础时间线解读，帮助观察趋势"));
 
-  private static final Pattern TERM_PATTERN = Pattern.compile("(?i)[a-z0-9]+|\\p{IsHan}+");
+  /** 同义词表，问题或画像中每出现一次同义词都额外计入一次规范词 */
+  static final SynonymMatcher SYNONYMS = SynonymMatcher.load("/tarot/synonyms.txt");
 
-  private static final Map<String, String> CANONICAL_TERMS = Map.ofEntries(
-      Map.entry("感情", "关系"),
-      Map.entry("恋爱", "关系"),
-      Map.entry("爱情", "关系"),
-      Map.entry("婚姻", "关系"),
-      Map.entry("伴侣", "关系"),
-      Map.entry("对象", "关系"),
-      Map.entry("情侣", "关系"),
-      Map.entry("暧昧", "关系"),
-      Map.entry("合作", "关系"),
-      Map.entry("搭档", "关系"),
-      Map.entry("走向", "未来"),
-      Map.entry("趋势", "未来"),
-      Map.entry("发展", "未来"),
-      Map.entry("前景", "未来"),
-      Map.entry("接下来", "未来"),
-      Map.entry("之后", "未来"),
-      Map.entry("怎么办", "建议"),
-      Map.entry("如何", "建议"),
-      Map.entry("怎么", "建议"),
-      Map.entry("要不要", "建议"),
-      Map.entry("是否", "建议"),
-      Map.entry("方案", "建议"),
-      Map.entry("方向", "建议"),
-      Map.entry("选择", "建议"),
-      Map.entry("决定", "建议"),
-      Map.entry("困境", "阻碍"),
-      Map.entry("困难", "阻碍"),
-      Map.entry("瓶颈", "阻碍"),
-      Map.entry("压力", "阻碍"),
-      Map.entry("挑战", "阻碍"),
-      Map.entry("障碍", "阻碍"),
-      Map.entry("问题", "阻碍"),
-      Map.entry("阻力", "阻碍"),
-      Map.entry("成因", "原因"),
-      Map.entry("结局", "结果"));
+  private static final List<SpreadProfile> PROFILES;
+  private static final TermVocabulary VOCABULARY;
+  private static final SpreadIndex INDEX;
+  private static final QueryTokenizer TOKENIZER;
 
-  private static final List<SpreadProfile> PROFILES = buildProfiles();
+  static {
+    List<Spread> spreads = profileSpreads();
+    List<Map<String, Integer>> termCounts = new ArrayList<>(spreads.size());
+    for (Spread spread : spreads) {
+      termCounts.add(termCounts(buildProfileText(spread)));
+    }
+    VOCABULARY = TermVocabulary.of(termCounts);
+    List<SpreadProfile> profiles = new ArrayList<>(spreads.size());
+    List<SparseTermVector> vectors = new ArrayList<>(spreads.size());
+    for (int i = 0; i < spreads.size(); i++) {
+      Spread spread = spreads.get(i);
+      SparseTermVector vector = SparseTermVector.of(termCounts.get(i), VOCABULARY);
+      vectors.add(vector);
+      profiles.add(new SpreadProfile(spread, buildReason(spread)));
+    }
+    PROFILES = List.copyOf(profiles);
+    INDEX = new SpreadIndex(vectors, spreads, VOCABULARY.size());
+    TOKENIZER = new QueryTokenizer(VOCABULARY, SYNONYMS);
+  }
 
   /**
    * 基于用户输入问题返回推荐牌阵列表。
@@ -87,60 +73,67 @@ public final class SpreadRecommender {
       return Collections.unmodifiableList(DEFAULT_SUGGESTIONS);
     }
 
-    TokenVector queryVector = TokenVector.fromText(normalized);
+    QueryTokenizer.QueryVector queryVector = TOKENIZER.tokenize(normalized);
     if (queryVector.isEmpty()) {
       return Collections.unmodifiableList(DEFAULT_SUGGESTIONS);
     }
 
-    List<ScoredSuggestion> scored = new ArrayList<>();
-    for (SpreadProfile profile : PROFILES) {
-      double score = queryVector.cosineSimilarity(profile.vector());
-      if (score >= MIN_SCORE) {
-        scored.add(new ScoredSuggestion(profile, score));
-      }
+    int[] ranked = INDEX.search(queryVector, MIN_SCORE, MAX_SUGGESTIONS);
+    if (ranked.length == 0) {
+      return Collections.unmodifiableList(DEFAULT_SUGGESTIONS);
     }
 
-    if (scored.isEmpty()) {
-      return Collections.unmodifiableList(DEFAULT_SUGGESTIONS);
+    List<SpreadSuggestion> results = new ArrayList<>(ranked.length);
+    for (int profileId : ranked) {
+      SpreadProfile profile = PROFILES.get(profileId);
+      results.add(new SpreadSuggestion(profile.spread(), profile.reason()));
     }
 
-    scored.sort(Comparator.comparingDouble(ScoredSuggestion::score).reversed()
-        .thenComparing(scoredSuggestion -> scoredSuggestion.profile().spread().getCardCount())
-        .thenComparing(scoredSuggestion -> scoredSuggestion.profile().spread().getName()));
+    return Collections.unmodifiableList(results);
+  }
 
-    List<SpreadSuggestion> results = new ArrayList<>();
-    for (ScoredSuggestion scoredSuggestion : scored) {
-      addSuggestion(results, scoredSuggestion.profile());
-      if (results.size() >= MAX_SUGGESTIONS) {
-        break;
+  /**
+   * 规范化问题文本：转为小写、去掉首尾空白并把连续空白合并为一个空格。
+   * <p>
+   * 空白只起分隔作用，因此规范化前后的推荐结果相同，可用作缓存键，见 {@link SpreadRecommendationService}。
+   *
+   * @param question 用户输入的问题，允许为空
+   * @return 规范化后的文本，输入为空时返回空串
+   */
+  public static String normalizeQuestion(String question) {
+    String text = normalize(question);
+    StringBuilder builder = new StringBuilder(text.length());
+    boolean pendingSpace = false;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (Character.isWhitespace(c)) {
+        pendingSpace = builder.length() > 0;
+        continue;
+      }
+      if (pendingSpace) {
+        builder.append(' ');
+        pendingSpace = false;
       }
+      builder.append(c);
     }
-
-    return Collections.unmodifiableList(results);
+    return builder.toString();
   }
 
   private static SpreadSuggestion suggestion(Spread spread, String reason) {
     return new SpreadSuggestion(spread, reason);
   }
 
-  private static List<SpreadProfile> buildProfiles() {
-    List<SpreadProfile> profiles = new ArrayList<>();
-    profiles.add(buildProfile(new SingleCardSpread()));
-    profiles.add(buildProfile(new RelationshipFourCardSpread()));
+  private static List<Spread> profileSpreads() {
+    List<Spread> spreads = new ArrayList<>();
+    spreads.add(new SingleCardSpread());
+    spreads.add(new RelationshipFourCardSpread());
     for (ThreeCardPattern pattern : ThreeCardPattern.values()) {
-      profiles.add(buildProfile(new PatternBasedSpread("三张牌", pattern)));
+      spreads.add(new PatternBasedSpread("三张牌", pattern));
     }
     for (FourCardPattern pattern : FourCardPattern.values()) {
-      profiles.add(buildProfile(new PatternBasedSpread("四张牌", pattern)));
+      spreads.add(new PatternBasedSpread("四张牌", pattern));
     }
-    return List.copyOf(profiles);
-  }
-
-  private static SpreadProfile buildProfile(Spread spread) {
-    String profileText = buildProfileText(spread);
-    TokenVector vector = TokenVector.fromText(profileText);
-    String reason = buildReason(spread);
-    return new SpreadProfile(spread, vector, reason);
+    return spreads;
   }
 
   private static String buildProfileText(Spread spread) {
@@ -170,143 +163,46 @@ public final class SpreadRecommender {
     return builder.toString();
   }
 
-  private static void addSuggestion(List<SpreadSuggestion> target, SpreadProfile profile) {
-    boolean exists = target.stream()
-        .anyMatch(it -> it.spread().getName().equals(profile.spread().getName()));
-    if (!exists) {
-      target.add(new SpreadSuggestion(profile.spread(), profile.reason()));
-    }
-  }
-
   private static String normalize(String text) {
     return text == null ? "" : text.toLowerCase(Locale.ROOT);
   }
 
-  private static String normalizeToken(String token) {
-    String canonical = CANONICAL_TERMS.get(token);
-    return canonical == null ? token : canonical;
-  }
-
-  private static void addNormalizedToken(Map<String, Integer> counts, String token) {
-    String normalized = normalizeToken(token);
-    increment(counts, normalized);
-    if (!normalized.equals(token)) {
-      increment(counts, token);
-    }
-  }
-
   private static void increment(Map<String, Integer> counts, String token) {
     counts.merge(token, 1, Integer::sum);
   }
 
-  private static void addTokens(Map<String, Integer> counts, String term) {
-    if (term.isBlank()) {
-      return;
-    }
-    if (isAsciiTerm(term)) {
-      addNormalizedToken(counts, term);
-      return;
-    }
-    int length = term.length();
-    if (length == 1) {
-      addNormalizedToken(counts, term);
-      return;
-    }
-    for (int size = 2; size <= 3; size++) {
-      if (length < size) {
-        continue;
-      }
-      for (int i = 0; i <= length - size; i++) {
-        addNormalizedToken(counts, term.substring(i, i + size));
-      }
-    }
-  }
-
-  private static boolean isAsciiTerm(String term) {
-    for (int i = 0; i < term.length(); i++) {
-      if (term.charAt(i) > 0x7f) {
-        return false;
-      }
-    }
-    return true;
+  /**
+   * 从文本中分词并统计词频，分词规则见 {@link TermScanner}，同义词另外计入规范词，见 {@link SynonymMatcher}。
+   * <p>
+   * 只用于构建画像；问题文本由 {@link QueryTokenizer} 直接映射为词表编号。
+   *
+   * @param text 输入文本
+   * @return 词项到频次的映射
+   */
+  static Map<String, Integer> termCounts(String text) {
+    return termCounts(text, SYNONYMS);
   }
 
   /**
-   * 轻量级文本向量：基于分词计数与向量模长，支持余弦相似度计算。
-   * 用于离线语义近似匹配，不依赖外部模型。
+   * 同 {@link #termCounts(String)}，使用指定的同义词表。
+   *
+   * @param text 输入文本
+   * @param synonyms 同义词匹配器，规范词已转为小写，与分词得到的词项共用同一套写法
+   * @return 词项到频次的映射
    */
-  private static final class TokenVector {
-
-    private final Map<String, Integer> counts;
-    private final double magnitude;
-
-    /**
-     * 以词频计数构造向量，并预计算模长。
-     *
-     * @param counts 词项到频次的映射
-     */
-    private TokenVector(Map<String, Integer> counts) {
-      this.counts = counts;
-      this.magnitude = Math.sqrt(counts.values().stream()
-          .mapToDouble(value -> value * value)
-          .sum());
-    }
-
-    /**
-     * 判断向量是否为空（无任何词项）。
-     *
-     * @return true 表示没有词项
-     */
-    private boolean isEmpty() {
-      return counts.isEmpty();
-    }
-
-    /**
-     * 计算与另一个向量的余弦相似度。
-     *
-     * @param other 另一个向量
-     * @return 相似度得分，范围 [0, 1]
-     */
-    private double cosineSimilarity(TokenVector other) {
-      if (magnitude == 0 || other.magnitude == 0) {
-        return 0;
-      }
-      Map<String, Integer> smaller = counts.size() <= other.counts.size() ? counts : other.counts;
-      Map<String, Integer> larger = smaller == counts ? other.counts : counts;
-      double dot = 0;
-      for (Map.Entry<String, Integer> entry : smaller.entrySet()) {
-        Integer otherValue = larger.get(entry.getKey());
-        if (otherValue != null) {
-          dot += entry.getValue() * otherValue;
-        }
-      }
-      return dot / (magnitude * other.magnitude);
+  static Map<String, Integer> termCounts(String text, SynonymMatcher synonyms) {
+    if (text == null || text.isBlank()) {
+      return Collections.emptyMap();
     }
-
-    /**
-     * 从文本中分词并构建词频向量。
-     *
-     * @param text 输入文本
-     * @return 由文本生成的向量
-     */
-    private static TokenVector fromText(String text) {
-      if (text == null || text.isBlank()) {
-        return new TokenVector(Collections.emptyMap());
-      }
-      Map<String, Integer> counts = new HashMap<>();
-      Matcher matcher = TERM_PATTERN.matcher(text);
-      while (matcher.find()) {
-        String term = matcher.group().toLowerCase(Locale.ROOT);
-        addTokens(counts, term);
-      }
-      return new TokenVector(counts);
-    }
-  }
-
-  private record SpreadProfile(Spread spread, TokenVector vector, String reason) {
+    Map<String, Integer> counts = new HashMap<>();
+    TermScanner.scan(text, (source, start, end, hash) ->
+        increment(counts, source.subSequence(start, end).toString().toLowerCase(Locale.ROOT)));
+    synonyms.match(text, (start, end, canonical) ->
+        increment(counts, synonyms.canonical(canonical)));
+    return counts;
   }
 
-  private record ScoredSuggestion(SpreadProfile profile, double score) {
+  private record SpreadProfile(Spread spread, String reason) {
   }
 
   /**
@@ -3,7 +3,9 @@ package tarot.spread;
 import java.util.Collections;
 import java.util.List;
 import java.time.Instant;
+import tarot.domain.CardCatalog;
 import tarot.domain.DrawnCard;
+import tarot.domain.PackedDrawnCards;
 
 /**
  * 带牌阵信息的抽牌结果。
@@ -22,6 +24,12 @@ import tarot.domain.DrawnCard;
  * <li>构造函数会强制校验：{@code drawnCards.size() == spread.getCardCount()}，
  * 否则抛出 {@link IllegalArgumentException}。</li>
  * </ul>
+ *
+ * <h2>紧凑存储</h2>
+ * <ul>
+ * <li>通过 {@link #SpreadResult(Spread, CardCatalog, short[], Instant)} 创建的结果只保存一个
+ * {@code short[]} 编码数组，{@link #getDrawnCards()} 返回基于共享 {@link DrawnCard} 享元的只读视图。</li>
+ * </ul>
  */
 public class SpreadResult {
 
@@ -49,6 +57,19 @@ public class SpreadResult {
     this.timestamp = timestamp;
   }
 
+  /**
+   * 以紧凑编码创建牌阵抽牌结果。
+   *
+   * @param spread    使用的牌阵定义，不能为空
+   * @param catalog   编码所属的牌目录
+   * @param codes     按牌位顺序排列的编码，见 {@link CardCatalog#encode(int, boolean)}；构造后不应再修改
+   * @param timestamp 抽牌时间戳
+   * @throws IllegalArgumentException 当 {@code codes.length != spread.getCardCount()} 时抛出
+   */
+  public SpreadResult(Spread spread, CardCatalog catalog, short[] codes, Instant timestamp) {
+    this(spread, new PackedDrawnCards(catalog, codes), timestamp);
+  }
+
   /**
    * 返回本次结果所使用的牌阵结构。
    */
@@ -64,6 +85,9 @@ public class SpreadResult {
    * @return 不可修改列表；企图修改将抛出 {@link java.lang.UnsupportedOperationException}
    */
   public List<DrawnCard> getDrawnCards() {
+    if (drawnCards instanceof PackedDrawnCards) {
+      return drawnCards;
+    }
     return Collections.unmodifiableList(drawnCards);
   }
 
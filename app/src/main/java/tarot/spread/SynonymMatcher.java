@@ -0,0 +1,313 @@
+package tarot.spread;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 同义词短语匹配器：把“同义词 → 规范词”表编译为基于 {@code char} 的 Aho–Corasick 自动机，
+ * 单次线性扫描文本即可找出所有出现的同义词（可重叠、任意长度），耗时与词表大小无关。
+ * <p>
+ * 自动机保存在基本类型数组中：
+ * <ul>
+ * <li>转移表：以（状态，字符）为键的开放寻址哈希表；</li>
+ * <li>失配链：{@code fail[state]} 指向当前匹配串的最长真后缀状态；</li>
+ * <li>输出链：{@code output[state]} 为在该状态结束的同义词，{@code outputLink[state]} 指向失配链上下一个有输出的状态。</li>
+ * </ul>
+ * 匹配时 ASCII 大写字母按小写处理；首字符或末字符为 ASCII 字母数字的同义词只在词边界处匹配，
+ * 以免 {@code art} 命中 {@code heart}。
+ */
+final class SynonymMatcher {
+
+  private static final int ROOT = 0;
+  private static final int NONE = -1;
+
+  private final String[] canonicals;
+  private final int[] patternLengths;
+  private final int[] patternCanonicals;
+  private final boolean[] leftBoundaries;
+  private final boolean[] rightBoundaries;
+
+  private final long[] transitionKeys;
+  private final int[] transitionTargets;
+  private final int transitionMask;
+  private final int[] fail;
+  private final int[] output;
+  private final int[] outputLink;
+
+  /** 接收匹配到的同义词 */
+  interface Listener {
+
+    /**
+     * @param start 同义词在原文中的起始下标（含）
+     * @param end 结束下标（不含）
+     * @param canonical 规范词编号，见 {@link #canonical(int)}
+     */
+    void phrase(int start, int end, int canonical);
+  }
+
+  private SynonymMatcher(Map<String, String> synonyms) {
+    Map<String, Integer> canonicalIds = new LinkedHashMap<>();
+    int patterns = synonyms.size();
+    this.patternLengths = new int[patterns];
+    this.patternCanonicals = new int[patterns];
+    this.leftBoundaries = new boolean[patterns];
+    this.rightBoundaries = new boolean[patterns];
+
+    int maxStates = 1;
+    for (String phrase : synonyms.keySet()) {
+      maxStates += phrase.length();
+    }
+    int capacity = Integer.highestOneBit(maxStates * 2 - 1) << 1;
+    this.transitionKeys = new long[capacity];
+    this.transitionTargets = new int[capacity];
+    this.transitionMask = capacity - 1;
+    Arrays.fill(transitionKeys, NONE);
+
+    int[] outputs = new int[maxStates];
+    Arrays.fill(outputs, NONE);
+    // 按创建顺序记录每条边，之后按父状态分组供广度优先遍历使用
+    int[] edgeParents = new int[maxStates];
+    char[] edgeChars = new char[maxStates];
+    int states = 1;
+    int pattern = 0;
+    for (Map.Entry<String, String> entry : synonyms.entrySet()) {
+      String phrase = entry.getKey();
+      int state = ROOT;
+      for (int i = 0; i < phrase.length(); i++) {
+        char c = phrase.charAt(i);
+        int next = transition(state, c);
+        if (next == NONE) {
+          next = states++;
+          putTransition(state, c, next);
+          edgeParents[next] = state;
+          edgeChars[next] = c;
+        }
+        state = next;
+      }
+      outputs[state] = pattern;
+      patternLengths[pattern] = phrase.length();
+      patternCanonicals[pattern] =
+          canonicalIds.computeIfAbsent(entry.getValue(), key -> canonicalIds.size());
+      leftBoundaries[pattern] = TermScanner.isAsciiTermChar(phrase.charAt(0));
+      rightBoundaries[pattern] = TermScanner.isAsciiTermChar(phrase.charAt(phrase.length() - 1));
+      pattern++;
+    }
+    this.canonicals = canonicalIds.keySet().toArray(new String[0]);
+    this.output = Arrays.copyOf(outputs, states);
+    this.fail = new int[states];
+    this.outputLink = new int[states];
+
+    // 子状态编号总是大于父状态，但同层状态不一定相邻，因此先按父状态分组再按层遍历
+    int[] childOffsets = new int[states + 1];
+    for (int child = 1; child < states; child++) {
+      childOffsets[edgeParents[child] + 1]++;
+    }
+    for (int state = 0; state < states; state++) {
+      childOffsets[state + 1] += childOffsets[state];
+    }
+    int[] children = new int[Math.max(states - 1, 0)];
+    int[] nextChild = Arrays.copyOf(childOffsets, states);
+    for (int child = 1; child < states; child++) {
+      children[nextChild[edgeParents[child]]++] = child;
+    }
+
+    int[] queue = new int[states];
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = ROOT;
+    outputLink[ROOT] = NONE;
+    while (head < tail) {
+      int parent = queue[head++];
+      for (int i = childOffsets[parent]; i < childOffsets[parent + 1]; i++) {
+        int child = children[i];
+        char c = edgeChars[child];
+        int link = ROOT;
+        if (parent != ROOT) {
+          int candidate = fail[parent];
+          while (candidate != ROOT && transition(candidate, c) == NONE) {
+            candidate = fail[candidate];
+          }
+          int next = transition(candidate, c);
+          link = next == NONE ? ROOT : next;
+        }
+        fail[child] = link;
+        outputLink[child] = output[link] != NONE ? link : outputLink[link];
+        queue[tail++] = child;
+      }
+    }
+  }
+
+  /**
+   * 由同义词表构建匹配器。
+   * <p>
+   * 规范词中的 ASCII 大写字母转为小写，与分词器输出的词项一致，只有大小写不同的规范词视为同一个。
+   *
+   * @param synonyms 同义词到规范词的映射，同义词不能为空
+   * @return 新的匹配器
+   * @throws IllegalArgumentException 存在空同义词，或忽略 ASCII 大小写后重复时抛出
+   */
+  static SynonymMatcher of(Map<String, String> synonyms) {
+    Map<String, String> folded = new LinkedHashMap<>(synonyms.size() * 2);
+    for (Map.Entry<String, String> entry : synonyms.entrySet()) {
+      String phrase = foldAscii(entry.getKey());
+      if (phrase.isEmpty()) {
+        throw new IllegalArgumentException("同义词不能为空：" + entry);
+      }
+      if (folded.putIfAbsent(phrase, foldAscii(entry.getValue())) != null) {
+        throw new IllegalArgumentException("同义词重复：" + entry.getKey());
+      }
+    }
+    return new SynonymMatcher(folded);
+  }
+
+  /**
+   * 从类路径资源加载同义词表并构建匹配器。
+   *
+   * @param resourcePath 资源路径，格式见 {@link #read(String)}
+   * @return 新的匹配器
+   */
+  static SynonymMatcher load(String resourcePath) {
+    return of(read(resourcePath));
+  }
+
+  /**
+   * 读取类路径中的同义词表。
+   * <p>
+   * 每行一条 {@code 同义词=规范词}，两侧空白忽略；空行与 {@code #} 开头的行忽略。
+   *
+   * @param resourcePath 资源路径
+   * @return 按文件顺序排列的同义词到规范词的映射
+   * @throws IllegalStateException 资源不存在或格式错误时抛出
+   */
+  static Map<String, String> read(String resourcePath) {
+    try (InputStream is = SynonymMatcher.class.getResourceAsStream(resourcePath)) {
+      if (is == null) {
+        throw new IllegalStateException("资源文件 " + resourcePath + " 不存在");
+      }
+      return parse(new InputStreamReader(is, StandardCharsets.UTF_8), resourcePath);
+    } catch (IOException e) {
+      throw new UncheckedIOException("加载同义词表失败：" + resourcePath, e);
+    }
+  }
+
+  private static Map<String, String> parse(Reader reader, String source) throws IOException {
+    Map<String, String> synonyms = new LinkedHashMap<>();
+    BufferedReader lines = new BufferedReader(reader);
+    String line;
+    int lineNumber = 0;
+    while ((line = lines.readLine()) != null) {
+      lineNumber++;
+      String trimmed = line.strip();
+      if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+        continue;
+      }
+      int separator = trimmed.indexOf('=');
+      String phrase = separator < 0 ? "" : trimmed.substring(0, separator).strip();
+      String canonical = separator < 0 ? "" : trimmed.substring(separator + 1).strip();
+      if (phrase.isEmpty() || canonical.isEmpty()) {
+        throw new IllegalStateException("同义词表格式错误：" + source + " 第 " + lineNumber + " 行");
+      }
+      if (synonyms.putIfAbsent(phrase, canonical) != null) {
+        throw new IllegalStateException(
+            "同义词重复：" + phrase + "（" + source + " 第 " + lineNumber + " 行）");
+      }
+    }
+    return synonyms;
+  }
+
+  /**
+   * 扫描文本，按结束位置顺序报告每一处同义词。
+   *
+   * @param text 文本
+   * @param listener 匹配接收者
+   */
+  void match(CharSequence text, Listener listener) {
+    int length = text.length();
+    int state = ROOT;
+    for (int i = 0; i < length; i++) {
+      char c = TermScanner.fold(text.charAt(i));
+      int next = transition(state, c);
+      while (next == NONE && state != ROOT) {
+        state = fail[state];
+        next = transition(state, c);
+      }
+      state = next == NONE ? ROOT : next;
+
+      int end = i + 1;
+      int hit = output[state] != NONE ? state : outputLink[state];
+      for (; hit != NONE; hit = outputLink[hit]) {
+        int pattern = output[hit];
+        int start = end - patternLengths[pattern];
+        if (leftBoundaries[pattern] && start > 0
+            && TermScanner.isAsciiTermChar(text.charAt(start - 1))) {
+          continue;
+        }
+        if (rightBoundaries[pattern] && end < length
+            && TermScanner.isAsciiTermChar(text.charAt(end))) {
+          continue;
+        }
+        listener.phrase(start, end, patternCanonicals[pattern]);
+      }
+    }
+  }
+
+  /** 规范词数量 */
+  int canonicalCount() {
+    return canonicals.length;
+  }
+
+  /**
+   * 按编号取规范词。
+   *
+   * @param id 规范词编号
+   * @return 规范词
+   */
+  String canonical(int id) {
+    return canonicals[id];
+  }
+
+  /** 同义词数量 */
+  int size() {
+    return patternLengths.length;
+  }
+
+  private int transition(int state, char c) {
+    long key = (long) state << 16 | c;
+    for (int slot = slot(key); transitionKeys[slot] != NONE; slot = (slot + 1) & transitionMask) {
+      if (transitionKeys[slot] == key) {
+        return transitionTargets[slot];
+      }
+    }
+    return NONE;
+  }
+
+  private void putTransition(int state, char c, int target) {
+    long key = (long) state << 16 | c;
+    int slot = slot(key);
+    while (transitionKeys[slot] != NONE) {
+      slot = (slot + 1) & transitionMask;
+    }
+    transitionKeys[slot] = key;
+    transitionTargets[slot] = target;
+  }
+
+  private int slot(long key) {
+    return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & transitionMask;
+  }
+
+  private static String foldAscii(String text) {
+    char[] chars = text.toCharArray();
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = TermScanner.fold(chars[i]);
+    }
+    return new String(chars);
+  }
+}
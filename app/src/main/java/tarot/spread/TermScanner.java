@@ -0,0 +1,135 @@
+package tarot.spread;
+
+/**
+ * 推荐器的分词扫描器：单次遍历文本，按码点识别 ASCII 字母数字段与汉字段，直接输出词项在原文中的区间。
+ * <p>
+ * 分词规则：
+ * <ul>
+ * <li>连续的 ASCII 字母与数字为一个词项，大小写不敏感；</li>
+ * <li>连续的汉字（Unicode 文字为 Han）只有一个字符时即为词项，否则输出其中全部 2-gram 与 3-gram；</li>
+ * <li>其余字符均为分隔符。</li>
+ * </ul>
+ * n-gram 按 UTF-16 字符切分。扫描的同时计算每个词项的多项式哈希，
+ * 汉字段的 3-gram 由前一个 2-gram 的哈希滚动得到；扫描过程不创建任何字符串。
+ */
+final class TermScanner {
+
+  /** 多项式哈希的乘数 */
+  private static final long MULTIPLIER = 0x100000001B3L;
+
+  /** 汉字所在的最小码点（CJK 部首补充区），用于跳过大部分非汉字字符的文字查询 */
+  private static final int MIN_HAN_CODE_POINT = 0x2E80;
+
+  private TermScanner() {
+  }
+
+  /** 接收扫描到的词项 */
+  interface Sink {
+
+    /**
+     * @param text 原文
+     * @param start 词项起始下标（含）
+     * @param end 词项结束下标（不含）
+     * @param hash 词项按 {@link #hash(CharSequence, int, int)} 计算的哈希
+     */
+    void term(CharSequence text, int start, int end, long hash);
+  }
+
+  /**
+   * 扫描文本并依次输出全部词项。
+   *
+   * @param text 输入文本
+   * @param sink 词项接收者
+   */
+  static void scan(CharSequence text, Sink sink) {
+    int length = text.length();
+    int i = 0;
+    while (i < length) {
+      char c = text.charAt(i);
+      if (isAsciiTermChar(c)) {
+        int start = i;
+        long hash = 0;
+        do {
+          hash = hash * MULTIPLIER + fold(text.charAt(i++));
+        } while (i < length && isAsciiTermChar(text.charAt(i)));
+        sink.term(text, start, i, hash);
+        continue;
+      }
+      int codePoint = Character.codePointAt(text, i);
+      i += Character.charCount(codePoint);
+      if (!isHan(codePoint)) {
+        continue;
+      }
+      int start = i - Character.charCount(codePoint);
+      while (i < length) {
+        codePoint = Character.codePointAt(text, i);
+        if (!isHan(codePoint)) {
+          break;
+        }
+        i += Character.charCount(codePoint);
+      }
+      scanHanRun(text, start, i, sink);
+    }
+  }
+
+  private static void scanHanRun(CharSequence text, int start, int end, Sink sink) {
+    if (end - start == 1) {
+      sink.term(text, start, end, text.charAt(start));
+      return;
+    }
+    long previousBigram = 0;
+    for (int i = start + 1; i < end; i++) {
+      long bigram = text.charAt(i - 1) * MULTIPLIER + text.charAt(i);
+      sink.term(text, i - 1, i + 1, bigram);
+      if (i - start >= 2) {
+        sink.term(text, i - 2, i + 1, previousBigram * MULTIPLIER + text.charAt(i));
+      }
+      previousBigram = bigram;
+    }
+  }
+
+  /**
+   * 计算一段字符的哈希，ASCII 大写字母按小写计算，与扫描时输出的哈希一致。
+   *
+   * @param text 文本
+   * @param start 起始下标（含）
+   * @param end 结束下标（不含）
+   * @return 哈希值
+   */
+  static long hash(CharSequence text, int start, int end) {
+    long hash = 0;
+    for (int i = start; i < end; i++) {
+      hash = hash * MULTIPLIER + fold(text.charAt(i));
+    }
+    return hash;
+  }
+
+  /**
+   * 判断两段字符在忽略 ASCII 大小写时是否相同。
+   *
+   * @return true 表示相同
+   */
+  static boolean regionEquals(CharSequence a, int aStart, CharSequence b, int bStart, int length) {
+    for (int i = 0; i < length; i++) {
+      if (fold(a.charAt(aStart + i)) != fold(b.charAt(bStart + i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** ASCII 大写字母转为小写，其余字符不变 */
+  static char fold(char c) {
+    return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+  }
+
+  /** 是否为 ASCII 字母或数字 */
+  static boolean isAsciiTermChar(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+  }
+
+  private static boolean isHan(int codePoint) {
+    return codePoint >= MIN_HAN_CODE_POINT
+        && Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HAN;
+  }
+}
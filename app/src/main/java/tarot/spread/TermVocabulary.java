@@ -0,0 +1,66 @@
+package tarot.spread;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 推荐器的词表：把所有牌阵画像中出现过的词项编译为连续的整数编号。
+ * <p>
+ * 编号按词项的字典序分配，构建结果与画像的遍历顺序无关。词表构建后不再修改，可被多个线程同时读取。
+ */
+final class TermVocabulary {
+
+  private final Map<String, Integer> ids;
+  private final String[] terms;
+
+  private TermVocabulary(Map<String, Integer> ids, String[] terms) {
+    this.ids = ids;
+    this.terms = terms;
+  }
+
+  /**
+   * 由多个词频表中出现过的所有词项构建词表。
+   *
+   * @param termCounts 词频表集合
+   * @return 新的词表
+   */
+  static TermVocabulary of(Collection<Map<String, Integer>> termCounts) {
+    TreeSet<String> terms = new TreeSet<>();
+    for (Map<String, Integer> counts : termCounts) {
+      terms.addAll(counts.keySet());
+    }
+    Map<String, Integer> ids = new HashMap<>(terms.size() * 2);
+    for (String term : terms) {
+      ids.put(term, ids.size());
+    }
+    return new TermVocabulary(ids, terms.toArray(new String[0]));
+  }
+
+  /**
+   * 查询词项编号。
+   *
+   * @param term 词项
+   * @return 编号；不在词表中时返回 -1
+   */
+  int id(String term) {
+    Integer id = ids.get(term);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * 按编号取词项。
+   *
+   * @param id 编号
+   * @return 词项
+   */
+  String term(int id) {
+    return terms[id];
+  }
+
+  /** 词表中的词项数。 */
+  int size() {
+    return ids.size();
+  }
+}
@@ -0,0 +1,66 @@
+package tarot.deck.checkpoint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tarot.domain.CardCatalog;
+import tarot.domain.Deck;
+import tarot.domain.TarotCard;
+import tarot.repository.JsonCardRepository;
+
+class DeckCheckpointStoreTest {
+
+    private final CardCatalog catalog = CardCatalog.of(new JsonCardRepository().findAll());
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRestoreRemainingCardsInSameOrder() throws Exception {
+        Deck deck = new Deck(catalog);
+        deck.shuffle(new Random(11));
+        deck.drawTop();
+        deck.drawTop();
+        DeckCheckpointStore store = new DeckCheckpointStore(tempDir.resolve("deck.state"));
+
+        store.save(deck);
+        Deck restored = store.load(catalog).orElseThrow();
+
+        assertEquals(ids(deck.getCards()), ids(restored.getCards()));
+        assertTrue(Files.size(store.getFile()) < 100);
+    }
+
+    @Test
+    void shouldIgnoreCheckpointOfAnotherCatalog() throws Exception {
+        DeckCheckpointStore store = new DeckCheckpointStore(tempDir.resolve("deck.state"));
+        store.save(new Deck(catalog));
+
+        CardCatalog other = CardCatalog.of(catalog.getCards().subList(0, 22));
+
+        assertTrue(store.load(other).isEmpty());
+    }
+
+    @Test
+    void shouldIgnoreMissingOrCorruptedCheckpoint() throws Exception {
+        DeckCheckpointStore store = new DeckCheckpointStore(tempDir.resolve("deck.state"));
+        assertTrue(store.load(catalog).isEmpty());
+
+        byte[] bytes = DeckCheckpointStore.encode(new Deck(catalog));
+        bytes[DeckCheckpointStore.HEADER_SIZE + 1] = bytes[DeckCheckpointStore.HEADER_SIZE];
+        Files.write(store.getFile(), bytes);
+
+        assertTrue(store.load(catalog).isEmpty());
+    }
+
+    private List<String> ids(List<TarotCard> cards) {
+        return cards.stream().map(TarotCard::getId).toList();
+    }
+}
@@ -0,0 +1,166 @@
+package tarot.deck.pool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import tarot.domain.Arcana;
+import tarot.domain.CardCatalog;
+import tarot.domain.Deck;
+import tarot.domain.Suit;
+import tarot.domain.TarotCard;
+import tarot.repository.CardRepository;
+
+class DeckPoolTest {
+
+    private volatile boolean slowProducers;
+    private final AtomicReference<CardCatalog> catalog = new AtomicReference<>(CardCatalog.of(sampleCards(22)));
+    private final CardRepository repository = new CardRepository() {
+        @Override
+        public List<TarotCard> findAll() {
+            return catalog.get().getCards();
+        }
+
+        @Override
+        public CardCatalog catalog() {
+            if (slowProducers && Thread.currentThread().getName().startsWith("tarot-deck-pool-")) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return catalog.get();
+        }
+    };
+
+    @Test
+    void producersShouldFillThePoolAndStopOnClose() throws Exception {
+        DeckPool pool = new DeckPool(repository, 16, 2, new SplittableRandom(1));
+        try {
+            pool.start();
+            awaitFill(pool, 16);
+
+            Set<List<String>> orders = new HashSet<>();
+            for (int i = 0; i < 16; i++) {
+                Deck deck = pool.createStandardDeck();
+                assertSame(catalog.get(), deck.getCatalog());
+                assertEquals(22, deck.size());
+                orders.add(ids(deck));
+            }
+            assertTrue(orders.size() > 1, "池中的牌堆应各自洗过");
+            DeckPool.Stats stats = pool.stats();
+            assertEquals(16, stats.capacity());
+            assertEquals(16, stats.taken());
+            assertEquals(0, stats.underflows());
+            assertTrue(stats.produced() >= 16);
+            assertTrue(stats.maxProduceNanos() > 0);
+            // 让生产线程停在建堆中途，close() 必须等它们退出后才能返回
+            slowProducers = true;
+            Thread.sleep(20);
+        } finally {
+            pool.close();
+        }
+
+        assertFalse(producersAlive(), "close() 返回后生产线程应已退出");
+    }
+
+    @Test
+    void restartShouldBeRejectedUntilOldProducersExit() throws Exception {
+        DeckPool pool = new DeckPool(repository, 4, 1, new SplittableRandom(4));
+        slowProducers = true;
+        pool.start();
+        Thread.sleep(20);
+
+        // 关闭时被中断，close() 不再等待，生产线程仍在建堆中途
+        Thread.currentThread().interrupt();
+        pool.close();
+        assertTrue(Thread.interrupted());
+        assertTrue(producersAlive());
+        assertThrows(IllegalStateException.class, pool::start);
+
+        pool.close();
+        assertFalse(producersAlive());
+        slowProducers = false;
+        pool.start();
+        awaitFill(pool, 4);
+        pool.close();
+    }
+
+    @Test
+    void emptyPoolShouldShuffleOnTheCallerAndCountUnderflows() {
+        DeckPool pool = new DeckPool(repository, 4, 1, new SplittableRandom(2));
+
+        Deck first = pool.createStandardDeck();
+        Deck second = pool.resetDeck(first);
+
+        assertNotEquals(ids(first), ids(second));
+        assertEquals(22, second.size());
+        assertEquals(2, pool.stats().underflows());
+        assertEquals(1.0, pool.stats().underflowRate(), 0);
+        pool.close();
+    }
+
+    @Test
+    void decksFromAReplacedCatalogShouldBeDropped() throws Exception {
+        DeckPool pool = new DeckPool(repository, 8, 1, new SplittableRandom(3));
+        try {
+            pool.start();
+            awaitFill(pool, 8);
+            pool.close();
+
+            catalog.set(CardCatalog.of(sampleCards(10)));
+            Deck deck = pool.createStandardDeck();
+
+            assertSame(catalog.get(), deck.getCatalog());
+            assertEquals(10, deck.size());
+            assertEquals(8, pool.stats().staleDecks());
+            assertEquals(1, pool.stats().underflows());
+        } finally {
+            pool.close();
+        }
+    }
+
+    private static void awaitFill(DeckPool pool, int level) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (pool.stats().fillLevel() < level) {
+            assertTrue(System.nanoTime() < deadline, "牌堆池未在10秒内填满");
+            Thread.sleep(5);
+        }
+    }
+
+    private static boolean producersAlive() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("tarot-deck-pool-") && thread.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> ids(Deck deck) {
+        List<String> ids = new ArrayList<>();
+        deck.getCards().forEach(card -> ids.add(card.getId()));
+        return ids;
+    }
+
+    private static List<TarotCard> sampleCards(int count) {
+        List<TarotCard> cards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cards.add(new TarotCard("card-" + i, "牌" + i, Arcana.MAJOR, Suit.NONE, i));
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,118 @@
+package tarot.deck.pool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class MpmcRingTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int CONSUMERS = 4;
+    private static final int PER_PRODUCER = 50_000;
+
+    @Test
+    void shouldReportFullAndEmptyAndKeepFifoOrder() {
+        MpmcRing<Integer> ring = new MpmcRing<>(3);
+
+        assertEquals(4, ring.capacity());
+        assertNull(ring.poll());
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(ring.offer(round * 4 + i));
+            }
+            assertFalse(ring.offer(-1));
+            assertEquals(4, ring.size());
+            for (int i = 0; i < 4; i++) {
+                assertEquals(round * 4 + i, ring.poll());
+            }
+            assertNull(ring.poll());
+            assertEquals(0, ring.size());
+        }
+    }
+
+    @Test
+    void shouldRoundCapacityAndRejectInvalidCapacity() {
+        assertEquals(1, new MpmcRing<>(1).capacity());
+        assertEquals(8, new MpmcRing<>(8).capacity());
+        assertEquals(16, new MpmcRing<>(9).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new MpmcRing<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new MpmcRing<>((1 << 30) + 1));
+    }
+
+    @Test
+    void concurrentProducersAndConsumersShouldNeitherLoseNorDuplicateElements() throws Exception {
+        MpmcRing<Integer> ring = new MpmcRing<>(8);
+        int total = PRODUCERS * PER_PRODUCER;
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicInteger fullRejections = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(PRODUCERS + CONSUMERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int p = 0; p < PRODUCERS; p++) {
+                int producer = p;
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < PER_PRODUCER; i++) {
+                        while (!ring.offer(producer * PER_PRODUCER + i)) {
+                            fullRejections.incrementAndGet();
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                });
+            }
+            List<Future<List<Integer>>> consumers = new ArrayList<>();
+            for (int c = 0; c < CONSUMERS; c++) {
+                consumers.add(pool.submit(() -> {
+                    start.await();
+                    List<Integer> taken = new ArrayList<>();
+                    while (consumed.get() < total) {
+                        Integer element = ring.poll();
+                        if (element == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        taken.add(element);
+                        consumed.incrementAndGet();
+                    }
+                    return taken;
+                }));
+            }
+            start.countDown();
+
+            int[] seen = new int[total];
+            for (Future<List<Integer>> consumer : consumers) {
+                int[] lastPerProducer = new int[PRODUCERS];
+                Arrays.fill(lastPerProducer, -1);
+                for (int element : consumer.get(60, TimeUnit.SECONDS)) {
+                    seen[element]++;
+                    // 同一生产者的元素按入队顺序出队，单个消费者看到的子序列必然递增
+                    int producer = element / PER_PRODUCER;
+                    assertTrue(element > lastPerProducer[producer], "出队顺序违反先进先出：" + element);
+                    lastPerProducer[producer] = element;
+                }
+            }
+            for (int i = 0; i < total; i++) {
+                assertEquals(1, seen[i], "元素 " + i + " 出队次数");
+            }
+            assertNull(ring.poll());
+            assertTrue(fullRejections.get() > 0, "容量为8时生产者应遇到队列已满");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package tarot.deck.registry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import tarot.domain.Arcana;
+import tarot.domain.CardCatalog;
+import tarot.domain.Suit;
+import tarot.domain.TarotCard;
+import tarot.repository.CardRepository;
+import tarot.repository.InMemoryCardRepository;
+
+class DeckRegistryTest {
+
+    @Test
+    void shouldLoadLazilyAndCacheCatalog() {
+        AtomicInteger loads = new AtomicInteger();
+        DeckRegistry registry = new DeckRegistry(2);
+        registry.register("sample", counting(loads));
+
+        assertEquals(0, loads.get());
+        CardCatalog first = registry.catalog("sample");
+        CardCatalog second = registry.catalog("sample");
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        DeckRegistry.Stats stats = registry.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedDeck() {
+        AtomicInteger loads = new AtomicInteger();
+        DeckRegistry registry = new DeckRegistry(2);
+        registry.register("a", counting(loads));
+        registry.register("b", counting(loads));
+        registry.register("c", counting(loads));
+
+        CardCatalog a = registry.catalog("a");
+        registry.catalog("b");
+        registry.catalog("a");
+        registry.catalog("c");
+
+        assertSame(a, registry.catalog("a"));
+        registry.catalog("b");
+        assertEquals(4, loads.get());
+        assertEquals(2, registry.stats().evictions());
+        assertEquals(2, registry.stats().loadedDecks());
+    }
+
+    @Test
+    void shouldRejectUnknownDeck() {
+        DeckRegistry registry = new DeckRegistry(1);
+
+        assertThrows(IllegalArgumentException.class, () -> registry.catalog("lenormand"));
+        assertEquals(0, registry.stats().misses());
+        assertEquals(0, registry.stats().loads());
+    }
+
+    @Test
+    void reRegistrationDuringLoadShouldNotBeOverwrittenByStaleCatalog() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DeckRegistry registry = new DeckRegistry(2);
+        registry.register("custom", () -> {
+            loading.countDown();
+            await(release);
+            return new InMemoryCardRepository().findAll();
+        });
+
+        CompletableFuture<CardCatalog> stale = CompletableFuture.supplyAsync(() -> registry.catalog("custom"));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        registry.register("custom", () -> List.of(new TarotCard("NEW", "新牌", Arcana.MAJOR, Suit.NONE, 0)));
+        release.countDown();
+
+        assertEquals(9, stale.get(5, TimeUnit.SECONDS).size());
+        assertEquals(1, registry.catalog("custom").size());
+        assertSame(registry.catalog("custom"), registry.catalog("custom"));
+    }
+
+    @Test
+    void concurrentMissesShouldShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        DeckRegistry registry = new DeckRegistry(2);
+        registry.register("slow", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return new InMemoryCardRepository().findAll();
+        });
+
+        int threads = 8;
+        CardCatalog[] results = new CardCatalog[threads];
+        Thread[] callers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            int index = i;
+            callers[i] = new Thread(() -> results[index] = registry.catalog("slow"));
+            callers[i].start();
+        }
+        // 等全部线程都阻塞：一个在加载中，其余在等待这次加载
+        for (Thread caller : callers) {
+            while (caller.getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+        }
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join(5_000);
+        }
+
+        assertEquals(1, loads.get());
+        for (CardCatalog result : results) {
+            assertSame(results[0], result);
+        }
+        assertEquals(threads, registry.stats().misses());
+        assertEquals(1, registry.stats().loads());
+        assertSame(results[0], registry.catalog("slow"));
+    }
+
+    @Test
+    void failedLoadShouldBeRetriedByNextCaller() {
+        AtomicInteger attempts = new AtomicInteger();
+        DeckRegistry registry = new DeckRegistry(1);
+        registry.register("flaky", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("读取失败");
+            }
+            return new InMemoryCardRepository().findAll();
+        });
+
+        assertThrows(IllegalStateException.class, () -> registry.catalog("flaky"));
+        assertEquals(9, registry.catalog("flaky").size());
+        assertEquals(2, attempts.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private CardRepository counting(AtomicInteger loads) {
+        return () -> {
+            loads.incrementAndGet();
+            return new InMemoryCardRepository().findAll();
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package tarot.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import tarot.draw.strategy.PartialShuffleDrawStrategy;
+
+class CardCatalogTest {
+
+    private final CardCatalog catalog = CardCatalog.of(List.of(
+        new TarotCard("MAJOR_00_FOOL", "愚者", Arcana.MAJOR, Suit.NONE, 0),
+        new TarotCard("MAJOR_01_MAGICIAN", "魔术师", Arcana.MAJOR, Suit.NONE, 1),
+        new TarotCard("WANDS_01_ACE", "权杖一", Arcana.MINOR, Suit.WANDS, 1)));
+
+    @Test
+    void shouldAssignOrdinalsInListOrder() {
+        assertEquals(3, catalog.size());
+        for (int i = 0; i < catalog.size(); i++) {
+            assertEquals(i, catalog.get(i).getOrdinal());
+        }
+    }
+
+    @Test
+    void drawnCardsShouldBeSharedFlyweights() {
+        DrawnCard reversedFool = catalog.drawn(0, true);
+
+        assertSame(reversedFool, catalog.drawn(CardCatalog.encode(0, true)));
+        assertSame(catalog.get(0), reversedFool.getCard());
+        assertTrue(reversedFool.isReversed());
+    }
+
+    @Test
+    void packedListShouldDecodeCodesAndBeUnmodifiable() {
+        short[] codes = {(short) CardCatalog.encode(2, false), (short) CardCatalog.encode(1, true)};
+        PackedDrawnCards packed = new PackedDrawnCards(catalog, codes);
+
+        assertEquals("权杖一(正位)", packed.get(0).toString());
+        assertEquals(1, packed.ordinalAt(1));
+        assertTrue(packed.isReversedAt(1));
+        assertThrows(UnsupportedOperationException.class, () -> packed.add(catalog.drawn(0, false)));
+    }
+
+    @Test
+    void indexesShouldAnswerLookupsWithoutScanning() {
+        assertEquals(1, catalog.ordinalOf("MAJOR_01_MAGICIAN"));
+        assertEquals(-1, catalog.ordinalOf("UNKNOWN"));
+        assertEquals("魔术师", catalog.findById("MAJOR_01_MAGICIAN").orElseThrow().getName());
+        assertEquals(2, catalog.findByArcana(Arcana.MAJOR).size());
+        assertEquals(1, catalog.findBySuit(Suit.WANDS).size());
+        assertTrue(catalog.findBySuit(Suit.CUPS).isEmpty());
+        assertEquals("权杖一", catalog.findBySuitAndNumber(Suit.WANDS, 1).orElseThrow().getName());
+        assertTrue(catalog.findBySuitAndNumber(Suit.WANDS, 14).isEmpty());
+    }
+
+    @Test
+    void outOfRangeNumbersShouldBeIndexedWithoutHugeArrays() {
+        CardCatalog odd = CardCatalog.of(List.of(
+            new TarotCard("HUGE", "巨大", Arcana.MINOR, Suit.CUPS, Integer.MAX_VALUE),
+            new TarotCard("NEGATIVE", "负数", Arcana.MINOR, Suit.CUPS, -3),
+            new TarotCard("CUPS_02", "圣杯二", Arcana.MINOR, Suit.CUPS, 2)));
+
+        assertEquals("巨大", odd.findBySuitAndNumber(Suit.CUPS, Integer.MAX_VALUE).orElseThrow().getName());
+        assertEquals("负数", odd.findBySuitAndNumber(Suit.CUPS, -3).orElseThrow().getName());
+        assertEquals("圣杯二", odd.findBySuitAndNumber(Suit.CUPS, 2).orElseThrow().getName());
+        assertTrue(odd.findBySuitAndNumber(Suit.WANDS, Integer.MAX_VALUE).isEmpty());
+        assertTrue(odd.findBySuitAndNumber(Suit.CUPS, 1000).isEmpty());
+    }
+
+    @Test
+    void standardTemplatesShouldBePrecomputedPerCatalog() {
+        SubDeckTemplate majors = catalog.template(SubDeckTemplate.MAJORS);
+
+        assertSame(majors, catalog.template(SubDeckTemplate.MAJORS));
+        assertEquals(CardMask.of(0, 1), majors.getMask());
+        assertEquals(1, catalog.template(SubDeckTemplate.WANDS).size());
+        assertEquals(0, catalog.template(SubDeckTemplate.CUPS).size());
+        assertThrows(IllegalArgumentException.class, () -> catalog.template("unknown"));
+    }
+
+    @Test
+    void strategyShouldReturnFlyweightsFromDeckCatalog() {
+        Deck deck = new Deck(catalog);
+
+        List<DrawnCard> drawn = new PartialShuffleDrawStrategy().draw(deck, 2, true, new Random(1));
+
+        for (DrawnCard card : drawn) {
+            assertSame(catalog.drawn(card.getCard().getOrdinal(), card.isReversed()), card);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package tarot.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class DeckTest {
+
+    @Test
+    void drawRandomShouldNeverRepeatCards() {
+        Deck deck = new Deck(sampleCards(10));
+        Random random = new Random(42);
+        Set<String> seen = new HashSet<>();
+
+        while (!deck.isEmpty()) {
+            assertTrue(seen.add(deck.drawRandom(random).getId()));
+        }
+
+        assertEquals(10, seen.size());
+        assertEquals(0, deck.size());
+    }
+
+    @Test
+    void getCardsShouldReflectRemainingCardsFromTop() {
+        Deck deck = new Deck(sampleCards(3));
+
+        TarotCard top = deck.drawTop();
+
+        assertEquals("card-0", top.getId());
+        assertEquals(2, deck.getCards().size());
+        assertEquals("card-1", deck.getCards().get(0).getId());
+    }
+
+    @Test
+    void shuffleShouldKeepAllRemainingCards() {
+        Deck deck = new Deck(sampleCards(20));
+        deck.drawTop();
+
+        deck.shuffle(new Random(7));
+
+        Set<String> ids = new HashSet<>();
+        deck.getCards().forEach(card -> ids.add(card.getId()));
+        assertEquals(19, ids.size());
+        assertTrue(!ids.contains("card-0"));
+    }
+
+    @Test
+    void returnDrawnShouldPutBackOnlyCardsDrawnSinceReset() {
+        Deck deck = new Deck(sampleCards(10));
+        SubDeckTemplate evens = SubDeckTemplate.of("evens", deck.getCatalog(), CardMask.of(0, 2, 4, 6, 8));
+        deck.reset(evens);
+        Random random = new Random(3);
+        int first = deck.drawRandomOrdinal(random);
+        int second = deck.drawRandomOrdinal(random);
+
+        deck.returnDrawn();
+
+        assertEquals(5, deck.size());
+        assertEquals(first, deck.drawTopOrdinal());
+        assertEquals(second, deck.drawTopOrdinal());
+        Set<Integer> remaining = new HashSet<>(List.of(first, second));
+        while (!deck.isEmpty()) {
+            assertTrue(remaining.add(deck.drawTopOrdinal()));
+        }
+        assertEquals(Set.of(0, 2, 4, 6, 8), remaining);
+    }
+
+    @Test
+    void shuffleTopShouldSpreadEveryCardOverTheTopPositions() {
+        Deck deck = new Deck(sampleCards(10));
+        Random random = new Random(11);
+        int[][] counts = new int[3][10];
+
+        for (int round = 0; round < 10_000; round++) {
+            deck.returnDrawn();
+            deck.shuffleTop(3, random);
+            for (int position = 0; position < 3; position++) {
+                counts[position][deck.drawTopOrdinal()]++;
+            }
+        }
+
+        deck.returnDrawn();
+        assertEquals(10, deck.size());
+        for (int[] position : counts) {
+            for (int count : position) {
+                assertTrue(count > 850 && count < 1150, "牌堆顶的牌偏离均匀分布：" + count);
+            }
+        }
+    }
+
+    @Test
+    void resetToTemplateShouldOnlyDrawSelectedCards() {
+        Deck deck = new Deck(sampleCards(10));
+        SubDeckTemplate evens = SubDeckTemplate.of("evens", deck.getCatalog(), CardMask.of(0, 2, 4, 6, 8));
+        Random random = new Random(5);
+
+        deck.reset(evens);
+
+        assertEquals(5, deck.size());
+        while (!deck.isEmpty()) {
+            assertEquals(0, deck.drawRandom(random).getOrdinal() % 2);
+        }
+        deck.reset();
+        assertEquals(10, deck.size());
+    }
+
+    @Test
+    void drawingFromEmptyDeckShouldThrow() {
+        Deck deck = new Deck(sampleCards(1));
+        deck.drawTop();
+
+        assertThrows(IllegalStateException.class, deck::drawTop);
+        assertThrows(IllegalStateException.class, () -> deck.drawRandom(new Random()));
+    }
+
+    private List<TarotCard> sampleCards(int count) {
+        List<TarotCard> cards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cards.add(new TarotCard("card-" + i, "牌" + i, Arcana.MAJOR, Suit.NONE, i));
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,70 @@
+package tarot.draw.random;
+
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * 比较仪式模式的随机数生成器与直接使用 {@link SecureRandom} 的开销，运行：{@code ./gradlew :app:entropyBenchmark}
+ *
+ * <p>对每种生成器分别统计：
+ * <ul>
+ * <li>{@code nextInt(78)}（洗一副牌时每一步所用的有界随机数）的平均耗时；</li>
+ * <li>对78张牌做一次完整 Fisher–Yates 洗牌的平均耗时。</li>
+ * </ul>
+ * 先用十分之一的次数预热，结果只对运行的机器有意义。
+ */
+public class EntropyBenchmark {
+
+    private static final int CARDS = 78;
+
+    public static void main(String[] args) {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        Map<String, Supplier<RandomGenerator>> generators = new LinkedHashMap<>();
+        generators.put("SecureRandom (default)", SecureRandom::new);
+        generators.put("SecureRandom (DRBG)", EntropyPoolRandom::defaultSource);
+        generators.put("EntropyPoolRandom (DRBG)", EntropyPoolRandom::new);
+        generators.put("SplittableRandom", () -> new SplittableRandom(42));
+
+        System.out.printf("%-26s %14s %14s%n", "generator", "ns/nextInt", "ns/shuffle");
+        for (Map.Entry<String, Supplier<RandomGenerator>> entry : generators.entrySet()) {
+            RandomGenerator random = entry.getValue().get();
+            run(random, calls / 10);
+            double[] result = run(random, calls);
+            System.out.printf("%-26s %14.1f %14.1f%n", entry.getKey(), result[0], result[1]);
+        }
+    }
+
+    /** 返回每次 nextInt 与每次洗牌的平均纳秒数 */
+    private static double[] run(RandomGenerator random, int calls) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            sink += random.nextInt(CARDS);
+        }
+        long intNanos = System.nanoTime() - start;
+
+        int[] deck = new int[CARDS];
+        int shuffles = Math.max(calls / CARDS, 1);
+        start = System.nanoTime();
+        for (int s = 0; s < shuffles; s++) {
+            for (int i = CARDS - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = deck[i];
+                deck[i] = deck[j];
+                deck[j] = tmp;
+            }
+            sink += deck[0];
+        }
+        long shuffleNanos = System.nanoTime() - start;
+
+        if (sink == Long.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return new double[] {(double) intNanos / calls, (double) shuffleNanos / shuffles};
+    }
+}
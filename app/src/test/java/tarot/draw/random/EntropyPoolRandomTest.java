@@ -0,0 +1,147 @@
+package tarot.draw.random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+
+class EntropyPoolRandomTest {
+
+    @Test
+    void buffersShouldSwapWithoutSkippingOrRepeatingBlocks() {
+        EntropyPoolRandom random = new EntropyPoolRandom(new CountingSource(new AtomicLong()), 4);
+
+        for (long i = 0; i < 1_000; i++) {
+            assertEquals(i, random.nextLong());
+        }
+    }
+
+    @Test
+    void concurrentInstancesShouldEachReceiveTheirOwnBlocks() throws Exception {
+        AtomicLong counter = new AtomicLong();
+        EntropyPoolRandomProvider provider = new EntropyPoolRandomProvider(() -> new CountingSource(counter), 8);
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    RandomGenerator random = provider.current();
+                    long[] values = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        values[i] = random.nextLong();
+                    }
+                    return values;
+                }));
+            }
+            start.countDown();
+
+            Set<Long> seen = new HashSet<>();
+            for (Future<long[]> future : futures) {
+                long[] values = future.get(60, TimeUnit.SECONDS);
+                for (int i = 0; i < values.length; i++) {
+                    assertTrue(seen.add(values[i]), "两个线程读到了同一块随机数：" + values[i]);
+                    // 每个实例的缓冲区按填充顺序轮换，因此读到的计数严格递增
+                    assertTrue(i == 0 || values[i] > values[i - 1], "缓冲区轮换顺序错误");
+                }
+            }
+            assertEquals(threads * perThread, seen.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void intsAndBooleansShouldUseEveryBitOfALong() {
+        AtomicLong counter = new AtomicLong(0x0000_0001_0000_000BL);
+        EntropyPoolRandom random = new EntropyPoolRandom(new CountingSource(counter), 4);
+
+        assertEquals(1, random.nextInt());
+        assertEquals(11, random.nextInt());
+
+        // 下一个 long 是 0x0000_0001_0000_000C，从最低位开始逐位使用
+        boolean[] expected = {false, false, true, true, false};
+        for (boolean bit : expected) {
+            assertEquals(bit, random.nextBoolean());
+        }
+    }
+
+    @Test
+    void boundedIntsShouldStayInRangeAndBeUniform() {
+        EntropyPoolRandom random = new EntropyPoolRandom();
+        int bound = 6;
+        int samples = 600_000;
+        long[] counts = new long[bound];
+
+        for (int i = 0; i < samples; i++) {
+            int value = random.nextInt(bound);
+            assertTrue(value >= 0 && value < bound, "越界：" + value);
+            counts[value]++;
+        }
+
+        double expected = (double) samples / bound;
+        double chiSquare = 0;
+        for (long count : counts) {
+            chiSquare += (count - expected) * (count - expected) / expected;
+        }
+        // 自由度为5时 P(χ² > 35.9) ≈ 1e-6
+        assertTrue(chiSquare < 35.9, "分布偏离均匀：χ²=" + chiSquare);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(0, random.nextInt(1));
+            int large = random.nextInt(Integer.MAX_VALUE);
+            assertTrue(large >= 0 && large < Integer.MAX_VALUE);
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidBoundsAndBlockSizes() {
+        EntropyPoolRandom random = new EntropyPoolRandom(new CountingSource(new AtomicLong()), 4);
+
+        assertThrows(IllegalArgumentException.class, () -> random.nextInt(0));
+        assertThrows(IllegalArgumentException.class, () -> random.nextInt(-7));
+        assertThrows(IllegalArgumentException.class,
+            () -> new EntropyPoolRandom(new CountingSource(new AtomicLong()), 0));
+        assertFalse(random.nextInt(5) < 0);
+    }
+
+    /** 按顺序输出计数器值的熵源，每次整块填充时连续领取若干个值 */
+    private static final class CountingSource extends SecureRandom {
+
+        private static final long serialVersionUID = 1L;
+
+        private final AtomicLong counter;
+
+        CountingSource(AtomicLong counter) {
+            this.counter = counter;
+        }
+
+        @Override
+        public void nextBytes(byte[] bytes) {
+            int longs = bytes.length / Long.BYTES;
+            long first = counter.getAndAdd(longs);
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            for (int i = 0; i < longs; i++) {
+                buffer.putLong(first + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package tarot.draw.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import tarot.domain.Arcana;
+import tarot.domain.CardCatalog;
+import tarot.domain.Deck;
+import tarot.domain.Suit;
+import tarot.domain.TarotCard;
+
+class PhysicalShuffleDrawStrategyTest {
+
+    private final CardCatalog catalog = CardCatalog.of(sampleCards(52));
+
+    @Test
+    void drawsShouldBeAPermutationOfTheRemainingCards() {
+        SplittableRandom random = new SplittableRandom(19);
+        Deck deck = new Deck(catalog);
+        short[] codes = new short[52];
+
+        for (DrawStrategy strategy : List.of(
+                PhysicalShuffleDrawStrategy.riffles(3), PhysicalShuffleDrawStrategy.overhand(4, 3))) {
+            for (int i = 0; i < 200; i++) {
+                deck.reset();
+                strategy.drawCodes(deck, 52, true, random, codes, 0);
+                assertEquals(allOrdinals(0, 52), ordinalsOf(codes, 52));
+                assertTrue(deck.isEmpty());
+
+                // 先抽走一部分，只应洗剩下的牌
+                deck.reset();
+                for (int ordinal = 0; ordinal < 52; ordinal += 3) {
+                    deck.drawOrdinal(ordinal);
+                }
+                int remaining = deck.size();
+                strategy.drawCodes(deck, remaining, false, random, codes, 0);
+                Set<Integer> expected = allOrdinals(0, 52);
+                expected.removeIf(ordinal -> ordinal % 3 == 0);
+                assertEquals(expected, ordinalsOf(codes, remaining));
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectDecksLargerThanMaxCards() {
+        CardCatalog large = CardCatalog.of(sampleCards(PhysicalShuffleDrawStrategy.MAX_CARDS + 1));
+        Deck deck = new Deck(large);
+        DrawStrategy strategy = PhysicalShuffleDrawStrategy.riffles(1);
+        short[] codes = new short[1];
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> strategy.drawCodes(deck, 1, false, new SplittableRandom(1), codes, 0));
+        assertTrue(ex.getMessage().contains(String.valueOf(PhysicalShuffleDrawStrategy.MAX_CARDS)));
+        assertEquals(PhysicalShuffleDrawStrategy.MAX_CARDS + 1, deck.size());
+
+        // 抽走一张后剩余恰好 MAX_CARDS 张，可以洗
+        deck.drawOrdinal(0);
+        strategy.drawCodes(deck, 1, false, new SplittableRandom(1), codes, 0);
+        assertEquals(PhysicalShuffleDrawStrategy.MAX_CARDS - 1, deck.size());
+    }
+
+    @Test
+    void zeroRifflesShouldOnlyCutAndZeroOverhandPassesShouldKeepTheOrder() {
+        SplittableRandom random = new SplittableRandom(7);
+        Deck deck = new Deck(catalog);
+        short[] codes = new short[52];
+
+        for (int i = 0; i < 100; i++) {
+            deck.reset();
+            PhysicalShuffleDrawStrategy.riffles(0).drawCodes(deck, 52, false, random, codes, 0);
+            int top = CardCatalog.ordinalOf(codes[0]);
+            for (int position = 0; position < 52; position++) {
+                assertEquals((top + position) % 52, CardCatalog.ordinalOf(codes[position]));
+            }
+
+            deck.reset();
+            PhysicalShuffleDrawStrategy.overhand(0, 5).drawCodes(deck, 52, false, random, codes, 0);
+            for (int position = 0; position < 52; position++) {
+                assertEquals(position, CardCatalog.ordinalOf(codes[position]));
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectNegativeCountsAndPacketSizes() {
+        assertThrows(IllegalArgumentException.class, () -> PhysicalShuffleDrawStrategy.riffles(-1));
+        assertThrows(IllegalArgumentException.class, () -> PhysicalShuffleDrawStrategy.overhand(-1, 5));
+        assertThrows(IllegalArgumentException.class, () -> PhysicalShuffleDrawStrategy.overhand(3, 0));
+    }
+
+    @Test
+    void oneRiffleShouldKeepFarMoreAdjacentPairsThanSeven() {
+        SplittableRandom random = new SplittableRandom(52);
+        double once = meanAdjacentPairs(PhysicalShuffleDrawStrategy.riffles(1), random);
+        double seven = meanAdjacentPairs(PhysicalShuffleDrawStrategy.riffles(7), random);
+
+        // 一次鸽尾式洗牌后约一半的相邻关系保留；均匀排列下期望约为1
+        assertTrue(once > 20, "一次鸽尾式洗牌：" + once);
+        assertTrue(seven < 3, "七次鸽尾式洗牌：" + seven);
+    }
+
+    /** 从目录顺序开始洗牌，统计结果中仍按目录顺序首尾相接（循环意义下）的相邻牌对的平均个数 */
+    private double meanAdjacentPairs(DrawStrategy strategy, SplittableRandom random) {
+        Deck deck = new Deck(catalog);
+        short[] codes = new short[52];
+        long pairs = 0;
+        int trials = 2_000;
+        for (int i = 0; i < trials; i++) {
+            deck.reset();
+            strategy.drawCodes(deck, 52, false, random, codes, 0);
+            for (int position = 0; position < 52; position++) {
+                int current = CardCatalog.ordinalOf(codes[position]);
+                int next = CardCatalog.ordinalOf(codes[(position + 1) % 52]);
+                if (next == (current + 1) % 52) {
+                    pairs++;
+                }
+            }
+        }
+        return (double) pairs / trials;
+    }
+
+    private static Set<Integer> ordinalsOf(short[] codes, int count) {
+        Set<Integer> ordinals = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            assertTrue(ordinals.add(CardCatalog.ordinalOf(codes[i])), "重复的牌：" + CardCatalog.ordinalOf(codes[i]));
+        }
+        return ordinals;
+    }
+
+    private static Set<Integer> allOrdinals(int from, int to) {
+        Set<Integer> ordinals = new HashSet<>();
+        for (int ordinal = from; ordinal < to; ordinal++) {
+            ordinals.add(ordinal);
+        }
+        return ordinals;
+    }
+
+    private static List<TarotCard> sampleCards(int count) {
+        List<TarotCard> cards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cards.add(new TarotCard("card-" + i, "牌" + i, Arcana.MAJOR, Suit.NONE, i));
+        }
+        return cards;
+    }
+}
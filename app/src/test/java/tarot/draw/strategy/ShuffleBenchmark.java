@@ -0,0 +1,95 @@
+package tarot.draw.strategy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import tarot.domain.Arcana;
+import tarot.domain.CardCatalog;
+import tarot.domain.Deck;
+import tarot.domain.DrawnCard;
+import tarot.domain.Suit;
+import tarot.domain.TarotCard;
+
+/**
+ * 比较各种洗牌策略的开销与混合程度，运行：{@code ./gradlew :app:shuffleBenchmark}
+ *
+ * <p>每次从按序号排列的78张牌开始洗牌并抽出整副牌，统计：
+ * <ul>
+ * <li>每次洗牌加抽牌的平均耗时；</li>
+ * <li>仍然相邻且顺序不变的牌对数量，均匀洗牌的期望约为1；</li>
+ * <li>上升序列数，均匀洗牌的期望约为 (n+1)/2；</li>
+ * <li>原来牌堆顶那张牌最终位置分布与均匀分布的总变差距离。</li>
+ * </ul>
+ */
+public class ShuffleBenchmark {
+
+    private static final int CARDS = 78;
+
+    public static void main(String[] args) {
+        int trials = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        CardCatalog catalog = CardCatalog.of(sampleCards());
+
+        Map<String, DrawStrategy> strategies = new LinkedHashMap<>();
+        strategies.put("standard (Fisher-Yates)", new StandardDrawStrategy());
+        strategies.put("riffle x1 + cuts", PhysicalShuffleDrawStrategy.riffles(1));
+        strategies.put("riffle x3 + cuts", PhysicalShuffleDrawStrategy.riffles(3));
+        strategies.put("riffle x7 + cuts", PhysicalShuffleDrawStrategy.riffles(7));
+        strategies.put("overhand x10", PhysicalShuffleDrawStrategy.overhand(10, 5));
+        strategies.put("overhand x100", PhysicalShuffleDrawStrategy.overhand(100, 5));
+
+        System.out.printf("%-26s %10s %12s %12s %10s%n", "strategy", "ns/draw", "adjacent", "rising", "TVD(top)");
+        for (Map.Entry<String, DrawStrategy> entry : strategies.entrySet()) {
+            run(entry.getKey(), entry.getValue(), catalog, trials / 10, false);
+            run(entry.getKey(), entry.getValue(), catalog, trials, true);
+        }
+    }
+
+    private static void run(String name, DrawStrategy strategy, CardCatalog catalog, int trials, boolean report) {
+        Deck deck = new Deck(catalog);
+        SplittableRandom random = new SplittableRandom(42);
+        long adjacent = 0;
+        long rising = 0;
+        long[] topPositions = new long[CARDS];
+        int[] positionOf = new int[CARDS];
+
+        long start = System.nanoTime();
+        for (int t = 0; t < trials; t++) {
+            deck.reset();
+            List<DrawnCard> drawn = strategy.draw(deck, CARDS, false, random);
+            for (int i = 0; i < CARDS; i++) {
+                positionOf[drawn.get(i).getCard().getOrdinal()] = i;
+            }
+            for (int card = 0; card + 1 < CARDS; card++) {
+                if (positionOf[card + 1] == positionOf[card] + 1) {
+                    adjacent++;
+                }
+                if (positionOf[card + 1] < positionOf[card]) {
+                    rising++;
+                }
+            }
+            rising++;
+            topPositions[positionOf[0]]++;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (report) {
+            double tvd = 0;
+            for (long count : topPositions) {
+                tvd += Math.abs((double) count / trials - 1.0 / CARDS);
+            }
+            System.out.printf("%-26s %10.1f %12.3f %12.2f %10.4f%n",
+                name, (double) elapsed / trials, (double) adjacent / trials, (double) rising / trials, tvd / 2);
+        }
+    }
+
+    private static List<TarotCard> sampleCards() {
+        List<TarotCard> cards = new ArrayList<>();
+        for (int i = 0; i < CARDS; i++) {
+            cards.add(new TarotCard("card-" + i, "牌" + i, Arcana.MAJOR, Suit.NONE, i));
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,174 @@
+package tarot.draw.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+
+import tarot.domain.Arcana;
+import tarot.domain.CardCatalog;
+import tarot.domain.Deck;
+import tarot.domain.Suit;
+import tarot.domain.TarotCard;
+
+class WeightedDrawStrategyTest {
+
+    private final CardCatalog catalog = CardCatalog.of(sampleCards(5));
+
+    @Test
+    void singleDrawsShouldFollowTheWeights() {
+        WeightedDrawStrategy strategy = new WeightedDrawStrategy(
+            catalog, new double[] {1, 2, 3, 4, 0}, new double[] {0, 0, 1, 0.25, 0});
+        Deck deck = new Deck(catalog);
+        SplittableRandom random = new SplittableRandom(16);
+        short[] codes = new short[1];
+        int[] counts = new int[5];
+        int[] reversed = new int[5];
+
+        for (int i = 0; i < 100_000; i++) {
+            deck.reset();
+            strategy.drawCodes(deck, 1, true, random, codes, 0);
+            counts[CardCatalog.ordinalOf(codes[0])]++;
+            reversed[CardCatalog.ordinalOf(codes[0])] += CardCatalog.isReversed(codes[0]) ? 1 : 0;
+        }
+
+        for (int ordinal = 0; ordinal < 4; ordinal++) {
+            assertEquals((ordinal + 1) / 10.0, counts[ordinal] / 100_000.0, 0.006, "牌 " + ordinal);
+        }
+        assertEquals(0, counts[4]);
+        assertEquals(0, reversed[0]);
+        assertEquals(counts[2], reversed[2]);
+        assertEquals(0.25, (double) reversed[3] / counts[3], 0.02);
+    }
+
+    @Test
+    void drawsWithoutReplacementShouldFollowTheRemainingWeights() {
+        WeightedDrawStrategy strategy = new WeightedDrawStrategy(
+            catalog, new double[] {1, 2, 3, 4, 0}, new double[5]);
+        Deck deck = new Deck(catalog);
+        SplittableRandom random = new SplittableRandom(61);
+        short[] codes = new short[2];
+        int firstIsThree = 0;
+        int secondIsZeroAfterThree = 0;
+
+        for (int i = 0; i < 100_000; i++) {
+            deck.reset();
+            strategy.drawCodes(deck, 2, false, random, codes, 0);
+            assertTrue(codes[0] != codes[1]);
+            if (CardCatalog.ordinalOf(codes[0]) == 3) {
+                firstIsThree++;
+                secondIsZeroAfterThree += CardCatalog.ordinalOf(codes[1]) == 0 ? 1 : 0;
+            }
+        }
+
+        assertEquals(0.4, firstIsThree / 100_000.0, 0.006);
+        // 抽走权重为4的牌后剩余总权重为6
+        assertEquals(1 / 6.0, (double) secondIsZeroAfterThree / firstIsThree, 0.01);
+    }
+
+    @Test
+    void partialDecksShouldOnlyDrawRemainingCardsAndLeaveTheTreeIntact() {
+        WeightedDrawStrategy strategy = new WeightedDrawStrategy(
+            catalog, new double[] {1, 1, 1, 1, 1}, new double[5]);
+        Deck deck = new Deck(catalog);
+        Random random = new Random(3);
+        short[] codes = new short[3];
+
+        for (int i = 0; i < 1_000; i++) {
+            deck.reset();
+            deck.drawOrdinal(1);
+            deck.drawOrdinal(3);
+            strategy.drawCodes(deck, 3, false, random, codes, 0);
+            assertEquals(Set.of(0, 2, 4), Set.of(
+                CardCatalog.ordinalOf(codes[0]), CardCatalog.ordinalOf(codes[1]), CardCatalog.ordinalOf(codes[2])));
+        }
+
+        int[] counts = new int[5];
+        for (int i = 0; i < 50_000; i++) {
+            deck.reset();
+            strategy.drawCodes(deck, 1, false, random, codes, 0);
+            counts[CardCatalog.ordinalOf(codes[0])]++;
+        }
+        for (int count : counts) {
+            assertEquals(0.2, count / 50_000.0, 0.01);
+        }
+    }
+
+    @Test
+    void shouldRejectDrawsBeyondThePositiveWeightCards() {
+        WeightedDrawStrategy strategy = new WeightedDrawStrategy(
+            catalog, new double[] {0, 0, 1, 1, 0}, new double[5]);
+        Deck deck = new Deck(catalog);
+        short[] codes = new short[3];
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> strategy.drawCodes(deck, 3, false, new Random(1), codes, 0));
+        assertTrue(ex.getMessage().contains("权重为正的牌不足"));
+        assertEquals(5, deck.size());
+
+        deck.drawOrdinal(2);
+        assertThrows(IllegalArgumentException.class, () -> strategy.drawCodes(deck, 2, false, new Random(1), codes, 0));
+
+        deck.reset();
+        strategy.drawCodes(deck, 2, false, new Random(1), codes, 0);
+        assertEquals(Set.of(2, 3), Set.of(CardCatalog.ordinalOf(codes[0]), CardCatalog.ordinalOf(codes[1])));
+    }
+
+    @Test
+    void shouldRejectInvalidWeights() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new WeightedDrawStrategy(catalog, new double[] {1, -1, 1, 1, 1}, new double[5]));
+        assertThrows(IllegalArgumentException.class,
+            () -> new WeightedDrawStrategy(catalog, new double[] {1, Double.NaN, 1, 1, 1}, new double[5]));
+        assertThrows(IllegalArgumentException.class,
+            () -> new WeightedDrawStrategy(catalog, new double[] {1, 1, 1, 1, 1}, new double[] {0, 0, 2, 0, 0}));
+        assertThrows(IllegalArgumentException.class,
+            () -> new WeightedDrawStrategy(catalog, new double[4], new double[5]));
+    }
+
+    @Test
+    void roundingShouldFallBackToTheNearestRemainingCard() {
+        // 1 + 1e-20 == 1，抽走第一张后树中的剩余总权重被舍入为0，查找会越过最后一张牌
+        CardCatalog pair = CardCatalog.of(sampleCards(2));
+        WeightedDrawStrategy strategy = new WeightedDrawStrategy(pair, new double[] {1, 1e-20}, new double[2]);
+        Deck deck = new Deck(pair);
+        short[] codes = new short[2];
+
+        strategy.drawCodes(deck, 2, false, almostOne(), codes, 0);
+
+        assertEquals(0, CardCatalog.ordinalOf(codes[0]));
+        assertEquals(1, CardCatalog.ordinalOf(codes[1]));
+        assertTrue(deck.isEmpty());
+    }
+
+    /** nextDouble() 总是返回小于1的最大值 */
+    private static RandomGenerator almostOne() {
+        return new RandomGenerator() {
+            @Override
+            public long nextLong() {
+                return -1L;
+            }
+
+            @Override
+            public double nextDouble() {
+                return Math.nextDown(1.0);
+            }
+        };
+    }
+
+    private static List<TarotCard> sampleCards(int count) {
+        List<TarotCard> cards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cards.add(new TarotCard("card-" + i, "牌" + i, Arcana.MAJOR, Suit.NONE, i));
+        }
+        return cards;
+    }
+}
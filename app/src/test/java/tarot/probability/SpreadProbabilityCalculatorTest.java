@@ -0,0 +1,134 @@
+package tarot.probability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import tarot.domain.Arcana;
+import tarot.domain.CardCatalog;
+import tarot.domain.Suit;
+import tarot.domain.TarotCard;
+import tarot.spread.CardPosition;
+import tarot.spread.PatternBasedSpread;
+import tarot.spread.SingleCardSpread;
+import tarot.spread.Spread;
+import tarot.spread.ThreeCardPattern;
+
+class SpreadProbabilityCalculatorTest {
+
+    private static final Spread ONE_CARD = new SingleCardSpread();
+    private static final Spread THREE_CARDS = new PatternBasedSpread(null, ThreeCardPattern.PAST_PRESENT_FUTURE);
+    private static final Predicate<TarotCard> MAJOR = card -> card.getArcana() == Arcana.MAJOR;
+    private static final Predicate<TarotCard> CUPS = card -> card.getSuit() == Suit.CUPS;
+
+    private final SpreadProbabilityCalculator calculator = new SpreadProbabilityCalculator(CardCatalog.of(sampleCards()));
+
+    @Test
+    void shouldMatchHandComputedValues() {
+        // 1 - C(56,3) / C(78,3) = 157/247
+        assertEquals(157.0 / 247, calculator.atLeast(THREE_CARDS, MAJOR, 1));
+        // C(14,2)·C(64,1) / C(78,3) = 16/209
+        assertEquals(16.0 / 209, calculator.exactly(THREE_CARDS, CUPS, 2));
+        // Σ P(k)·(1 - 2^-k) = 727/1976
+        assertEquals(727.0 / 1976, calculator.atLeastOneReversed(THREE_CARDS, MAJOR, true));
+        assertEquals(11.0 / 78, calculator.atLeastOneReversed(ONE_CARD, MAJOR, true));
+        assertEquals(0.0, calculator.atLeastOneReversed(ONE_CARD, MAJOR, false));
+        // Σ_{k≥4} C(14,k)·C(64,10-k) / C(78,10)，由分数精确计算后舍入
+        assertEquals(0.07340829028214871, calculator.atLeast(spreadOf(10), CUPS, 4));
+    }
+
+    @Test
+    void reversalProbabilitiesShouldFollowTheConstant() {
+        double p = SpreadProbabilityCalculator.REVERSED_PROBABILITY;
+        for (int n : new int[] {1, 3, 10}) {
+            double[] pmf = calculator.distribution(spreadOf(n), MAJOR);
+            double expected = 0;
+            for (int k = 1; k < pmf.length; k++) {
+                expected += pmf[k] * (1 - Math.pow(1 - p, k));
+            }
+            assertEquals(expected, calculator.atLeastOneReversed(spreadOf(n), MAJOR, true), 1e-12);
+        }
+        assertEquals(p / 78, calculator.cardAtPosition(ONE_CARD, "major-0", 0, true, true), 1e-15);
+        assertEquals((1 - p) / 78, calculator.cardAtPosition(ONE_CARD, "major-0", 0, false, true), 1e-15);
+    }
+
+    @Test
+    void distributionShouldSumToOne() {
+        for (int n : new int[] {1, 3, 10, 40, 78}) {
+            for (Predicate<TarotCard> filter : List.of(MAJOR, CUPS, card -> card.getNumber() % 3 == 0)) {
+                double[] pmf = calculator.distribution(spreadOf(n), filter);
+                assertEquals(n + 1, pmf.length);
+                double sum = 0;
+                for (double p : pmf) {
+                    sum += p;
+                }
+                assertEquals(1.0, sum, 1e-15, "n=" + n);
+                assertEquals(1.0, calculator.atLeast(spreadOf(n), filter, 0));
+            }
+        }
+    }
+
+    @Test
+    void edgeCasesShouldBeExact() {
+        assertEquals(1.0, calculator.exactly(THREE_CARDS, card -> false, 0));
+        assertEquals(1.0, calculator.exactly(THREE_CARDS, card -> true, 3));
+        assertEquals(0.0, calculator.exactly(THREE_CARDS, MAJOR, 4));
+        assertEquals(0.0, calculator.exactly(THREE_CARDS, MAJOR, -1));
+        assertEquals(0.0, calculator.atLeast(THREE_CARDS, MAJOR, 4));
+        // 78 张全部抽出时恰好抽到全部 22 张大阿尔卡纳
+        assertEquals(1.0, calculator.exactly(spreadOf(78), MAJOR, 22));
+        assertEquals(1.0 / 78, calculator.cardAtPosition(THREE_CARDS, "major-0", 2));
+        assertEquals(0.0, calculator.cardAtPosition(THREE_CARDS, "missing", 0));
+        assertThrows(IllegalArgumentException.class, () -> calculator.exactly(spreadOf(79), MAJOR, 0));
+    }
+
+    @Test
+    void repeatedQueriesShouldNotRescanTheCatalog() {
+        AtomicInteger calls = new AtomicInteger();
+        Predicate<TarotCard> counted = card -> {
+            calls.incrementAndGet();
+            return card.getArcana() == Arcana.MAJOR;
+        };
+
+        calculator.atLeast(THREE_CARDS, counted, 1);
+        calculator.exactly(THREE_CARDS, counted, 2);
+        calculator.distribution(spreadOf(5), counted)[0] = 42;
+
+        assertEquals(78, calls.get());
+        assertEquals(calculator.exactly(spreadOf(5), MAJOR, 0), calculator.exactly(spreadOf(5), counted, 0));
+    }
+
+    private static Spread spreadOf(int n) {
+        List<CardPosition> positions = Collections.nCopies(n, new CardPosition("位置", "测试"));
+        return new Spread() {
+            @Override
+            public String getName() {
+                return n + " 张牌";
+            }
+
+            @Override
+            public List<CardPosition> getPositions() {
+                return positions;
+            }
+        };
+    }
+
+    private static List<TarotCard> sampleCards() {
+        List<TarotCard> cards = new ArrayList<>();
+        for (int i = 0; i < 22; i++) {
+            cards.add(new TarotCard("major-" + i, "大牌" + i, Arcana.MAJOR, Suit.NONE, i));
+        }
+        Suit[] suits = {Suit.WANDS, Suit.CUPS, Suit.SWORDS, Suit.PENTACLES};
+        for (int i = 0; i < 56; i++) {
+            cards.add(new TarotCard("minor-" + i, "小牌" + i, Arcana.MINOR, suits[i / 14], i % 14 + 1));
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,102 @@
+package tarot.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import tarot.domain.Arcana;
+import tarot.domain.Suit;
+import tarot.domain.TarotCard;
+
+class BinaryCardRepositoryTest {
+
+    @Test
+    void shouldLoadSameCardsAsJsonRepository() {
+        List<TarotCard> expected = new JsonCardRepository().findAll();
+        List<TarotCard> actual = new BinaryCardRepository().findAll();
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+        }
+    }
+
+    @Test
+    void shouldFallbackWhenBinaryResourceIsMissing() {
+        BinaryCardRepository repository =
+            new BinaryCardRepository("/tarot/missing.bin", new InMemoryCardRepository());
+
+        assertEquals(new InMemoryCardRepository().findAll().size(), repository.findAll().size());
+    }
+
+    @Test
+    void lookupsShouldReuseOneCatalogSnapshot() {
+        BinaryCardRepository repository = new BinaryCardRepository();
+
+        assertSame(repository.catalog(), repository.catalog());
+        assertSame(repository.findAll(), repository.catalog().getCards());
+        assertEquals("愚者", repository.findById("MAJOR_00_FOOL").orElseThrow().getName());
+
+        JsonCardRepository json = new JsonCardRepository();
+        assertSame(json.catalog(), json.catalog());
+    }
+
+    @Test
+    void decodeShouldReadFixedWidthRecords() throws Exception {
+        byte[] bytes = singleRecord(Arcana.MINOR.ordinal(), Suit.CUPS.ordinal());
+
+        TarotCard card = BinaryCardRepository.decode(ByteBuffer.wrap(bytes)).get(0);
+
+        assertEquals("CUPS_02", card.getId());
+        assertEquals("圣杯二", card.getName());
+        assertEquals(Suit.CUPS, card.getSuit());
+        assertEquals(2, card.getNumber());
+    }
+
+    @Test
+    void decodeShouldRejectOutOfRangeEnumCodes() throws Exception {
+        for (int[] codes : new int[][] {{Arcana.values().length, 0}, {0, Suit.values().length}, {0, 0xFF}}) {
+            ByteBuffer buffer = ByteBuffer.wrap(singleRecord(codes[0], codes[1]));
+
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> BinaryCardRepository.decode(buffer));
+            assertTrue(e.getMessage().contains("第 0 条记录"), e.getMessage());
+        }
+    }
+
+    @Test
+    void decodeShouldRejectUnknownHeader() {
+        assertNull(BinaryCardRepository.decode(ByteBuffer.wrap(new byte[16])));
+    }
+
+    private static byte[] singleRecord(int arcana, int suit) throws Exception {
+        byte[] id = "CUPS_02".getBytes(StandardCharsets.UTF_8);
+        byte[] name = "圣杯二".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(BinaryCardRepository.MAGIC);
+        out.writeShort(BinaryCardRepository.VERSION);
+        out.writeShort(1);
+        out.writeInt(id.length + name.length);
+        out.writeInt(0);
+        out.writeInt(id.length);
+        out.writeShort(id.length);
+        out.writeShort(name.length);
+        out.writeByte(arcana);
+        out.writeByte(suit);
+        out.writeShort(2);
+        out.write(id);
+        out.write(name);
+        return bytes.toByteArray();
+    }
+}
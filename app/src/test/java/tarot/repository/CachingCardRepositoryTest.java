@@ -0,0 +1,54 @@
+package tarot.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import tarot.deck.factory.StandardTarotDeckFactory;
+import tarot.domain.Deck;
+import tarot.domain.TarotCard;
+
+class CachingCardRepositoryTest {
+
+    @Test
+    void shouldLoadDelegateOnlyOnce() {
+        CountingRepository delegate = new CountingRepository();
+        CachingCardRepository repository = new CachingCardRepository(delegate);
+
+        repository.findAll();
+        repository.catalog();
+        repository.findAll();
+
+        assertEquals(1, delegate.calls);
+        assertSame(repository.catalog(), repository.catalog());
+    }
+
+    @Test
+    void factoryShouldResetDeckInPlace() {
+        CachingCardRepository repository = new CachingCardRepository(new CountingRepository());
+        StandardTarotDeckFactory factory = new StandardTarotDeckFactory(repository);
+        Deck deck = factory.createStandardDeck();
+        deck.shuffle(new Random(3));
+        deck.drawTop();
+
+        Deck reset = factory.resetDeck(deck);
+
+        assertSame(deck, reset);
+        assertEquals(repository.findAll().size(), reset.size());
+    }
+
+    private static final class CountingRepository implements CardRepository {
+
+        private int calls;
+
+        @Override
+        public List<TarotCard> findAll() {
+            calls++;
+            return new InMemoryCardRepository().findAll();
+        }
+    }
+}
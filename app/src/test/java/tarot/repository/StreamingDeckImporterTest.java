@@ -0,0 +1,116 @@
+package tarot.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import tarot.domain.TarotCard;
+
+class StreamingDeckImporterTest {
+
+    @Test
+    void shouldImportBundledDeckWithoutErrors() throws Exception {
+        List<TarotCard> cards = new ArrayList<>();
+        try (Reader reader = new InputStreamReader(
+            getClass().getResourceAsStream("/tarot/cards.json"), StandardCharsets.UTF_8)) {
+            StreamingDeckImporter.ImportReport report = new StreamingDeckImporter(16).importFrom(reader, cards::add);
+
+            assertTrue(report.isSuccessful());
+            assertEquals(78, report.totalRecords());
+        }
+        assertEquals(78, cards.size());
+        assertEquals("MAJOR_00_FOOL", cards.get(0).getId());
+    }
+
+    @Test
+    void shouldReportEveryInvalidRecordAndKeepValidOnes() {
+        String json = "["
+            + "{\"id\":\"A\",\"name\":\"愚者\",\"nameEn\":\"The Fool\",\"names\":{\"ja\":\"愚者\"},"
+            + "\"arcana\":\"MAJOR\",\"suit\":\"NONE\",\"number\":0},"
+            + "{\"id\":\"A\",\"name\":\"重复\",\"arcana\":\"MAJOR\",\"suit\":\"NONE\",\"number\":1},"
+            + "{\"id\":\"B\",\"name\":\"未知\",\"arcana\":\"MIDDLE\",\"suit\":\"NONE\",\"number\":1},"
+            + "{\"id\":\"C\",\"name\":\"越界\",\"arcana\":\"MINOR\",\"suit\":\"CUPS\",\"number\":15},"
+            + "{\"id\":\"D\",\"name\":\"圣杯二\",\"arcana\":\"MINOR\",\"suit\":\"CUPS\",\"number\":2}"
+            + "]";
+        List<TarotCard> cards = new ArrayList<>();
+
+        StreamingDeckImporter.ImportReport report =
+            new StreamingDeckImporter(2).importFrom(new StringReader(json), cards::add);
+
+        assertFalse(report.isSuccessful());
+        assertEquals(5, report.totalRecords());
+        assertEquals(2, report.importedRecords());
+        assertEquals(List.of("A", "D"), cards.stream().map(TarotCard::getId).toList());
+        assertEquals(List.of(1, 2, 3), report.errors().stream().map(StreamingDeckImporter.ImportError::index).toList());
+        assertTrue(report.errors().get(0).message().contains("重复"));
+    }
+
+    @Test
+    void wrongFieldTypesShouldOnlyFailTheirOwnRecord() {
+        String json = "["
+            + "{\"id\":\"A\",\"name\":{\"zh\":\"愚者\",\"en\":\"The Fool\"},"
+            + "\"arcana\":\"MAJOR\",\"suit\":\"NONE\",\"number\":0},"
+            + "{\"id\":\"A\",\"name\":\"愚者\",\"arcana\":\"MAJOR\",\"suit\":[\"NONE\"],\"number\":0},"
+            + "{\"id\":\"A\",\"name\":\"愚者\",\"arcana\":\"MAJOR\",\"suit\":\"NONE\",\"number\":0}"
+            + "]";
+        List<TarotCard> cards = new ArrayList<>();
+
+        StreamingDeckImporter.ImportReport report =
+            new StreamingDeckImporter().importFrom(new StringReader(json), cards::add);
+
+        assertEquals(3, report.totalRecords());
+        assertEquals(List.of("A"), cards.stream().map(TarotCard::getId).toList());
+        assertEquals(List.of(0, 1), report.errors().stream().map(StreamingDeckImporter.ImportError::index).toList());
+        assertTrue(report.errors().get(0).message().contains("name"));
+        assertTrue(report.errors().get(1).message().contains("suit"));
+    }
+
+    @Test
+    void numberErrorsShouldNameTheOffendingValue() {
+        String json = "["
+            + "{\"id\":\"A\",\"name\":\"愚者\",\"arcana\":\"MAJOR\",\"suit\":\"NONE\",\"number\":\"zero\"},"
+            + "{\"id\":\"B\",\"name\":\"魔术师\",\"arcana\":\"MAJOR\",\"suit\":\"NONE\",\"number\":[1]},"
+            + "{\"id\":\"C\",\"name\":\"女祭司\",\"arcana\":\"MAJOR\",\"suit\":\"NONE\",\"number\":2.5},"
+            + "{\"id\":\"D\",\"name\":\"皇后\",\"arcana\":\"MAJOR\",\"suit\":\"NONE\"}"
+            + "]";
+
+        StreamingDeckImporter.ImportReport report =
+            new StreamingDeckImporter().importFrom(new StringReader(json), card -> { });
+
+        assertEquals(List.of("number 不是数字：\"zero\"", "number 不是数字：BEGIN_ARRAY",
+            "number 不是整数：2.5", "缺少 number"),
+            report.errors().stream().map(StreamingDeckImporter.ImportError::message).toList());
+    }
+
+    @Test
+    void sinkExceptionsShouldReachTheCaller() {
+        String json = "[{\"id\":\"A\",\"name\":\"愚者\",\"arcana\":\"MAJOR\",\"suit\":\"NONE\",\"number\":0}]";
+
+        assertThrows(IllegalStateException.class, () -> new StreamingDeckImporter().importFrom(
+            new StringReader(json), card -> {
+                throw new IllegalStateException("sink full");
+            }));
+    }
+
+    @Test
+    void shouldStopAtMalformedJsonButKeepEarlierRecords() {
+        String json = "[{\"id\":\"A\",\"name\":\"愚者\",\"arcana\":\"MAJOR\",\"suit\":\"NONE\",\"number\":0},{\"id\":";
+        List<TarotCard> cards = new ArrayList<>();
+
+        StreamingDeckImporter.ImportReport report =
+            new StreamingDeckImporter().importFrom(new StringReader(json), cards::add);
+
+        assertEquals(1, cards.size());
+        assertEquals(1, report.errors().size());
+    }
+}
@@ -0,0 +1,81 @@
+package tarot.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import tarot.domain.CardCatalog;
+
+class WatchingFileCardRepositoryTest {
+
+    private static final String ONE_CARD =
+        "[{\"id\":\"MAJOR_00_FOOL\",\"name\":\"愚者\",\"arcana\":\"MAJOR\",\"suit\":\"NONE\",\"number\":0}]";
+    private static final String TWO_CARDS =
+        "[{\"id\":\"MAJOR_00_FOOL\",\"name\":\"愚者\",\"arcana\":\"MAJOR\",\"suit\":\"NONE\",\"number\":0},"
+            + "{\"id\":\"MAJOR_01_MAGICIAN\",\"name\":\"魔术师\",\"arcana\":\"MAJOR\",\"suit\":\"NONE\",\"number\":1}]";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void reloadShouldPublishNewSnapshot() throws Exception {
+        Path file = write(ONE_CARD);
+        try (WatchingFileCardRepository repository = new WatchingFileCardRepository(file)) {
+            CardCatalog before = repository.catalog();
+
+            write(TWO_CARDS);
+            assertTrue(repository.reload());
+
+            assertNotSame(before, repository.catalog());
+            assertEquals(1, before.size());
+            assertEquals(2, repository.findAll().size());
+        }
+    }
+
+    @Test
+    void failedReloadShouldKeepPreviousSnapshot() throws Exception {
+        Path file = write(ONE_CARD);
+        try (WatchingFileCardRepository repository = new WatchingFileCardRepository(file)) {
+            CardCatalog before = repository.catalog();
+
+            write("[{\"id\":");
+            assertFalse(repository.reload());
+
+            assertSame(before, repository.catalog());
+            assertNotNull(repository.getLastError());
+        }
+    }
+
+    @Test
+    void watcherShouldReloadAfterFileIsModified() throws Exception {
+        Path file = write(ONE_CARD);
+        try (WatchingFileCardRepository repository =
+                 new WatchingFileCardRepository(file, Duration.ofMillis(50)).startWatching()) {
+            // 模拟编辑器分两次写入：先写半截内容，静默期内再写完整内容
+            write("[{\"id\":");
+            write(TWO_CARDS);
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (repository.findAll().size() != 2 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+
+            assertEquals(2, repository.findAll().size());
+        }
+    }
+
+    private Path write(String json) throws Exception {
+        return Files.writeString(tempDir.resolve("cards.json"), json, StandardCharsets.UTF_8);
+    }
+}
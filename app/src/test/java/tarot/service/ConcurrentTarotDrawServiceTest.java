@@ -0,0 +1,124 @@
+package tarot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import tarot.deck.factory.StandardTarotDeckFactory;
+import tarot.domain.Arcana;
+import tarot.domain.DrawnCard;
+import tarot.domain.Suit;
+import tarot.domain.TarotCard;
+import tarot.draw.random.SplittingRandomProvider;
+import tarot.draw.strategy.PartialShuffleDrawStrategy;
+import tarot.draw.strategy.PreShuffledDrawStrategy;
+import tarot.draw.strategy.StandardDrawStrategy;
+import tarot.repository.CachingCardRepository;
+import tarot.spread.PatternBasedSpread;
+import tarot.spread.Spread;
+import tarot.spread.ThreeCardPattern;
+
+class ConcurrentTarotDrawServiceTest {
+
+    private static final int THREADS = 8;
+    private static final int READINGS_PER_THREAD = 5_000;
+    private static final int CARDS_PER_READING = 10;
+
+    @Test
+    void concurrentReadingsShouldNeverContainDuplicateCards() throws Exception {
+        stress(new ConcurrentTarotDrawService(
+            new StandardTarotDeckFactory(new CachingCardRepository(() -> sampleCards(22))),
+            new PartialShuffleDrawStrategy(),
+            new SplittingRandomProvider(11)));
+    }
+
+    @Test
+    void fullShuffleStrategyShouldAlsoBeSafeUnderContention() throws Exception {
+        stress(new ConcurrentTarotDrawService(
+            new StandardTarotDeckFactory(new CachingCardRepository(() -> sampleCards(22))),
+            new StandardDrawStrategy(),
+            new SplittingRandomProvider(13)));
+    }
+
+    @Test
+    void preShuffledReadingsShouldDifferOnEveryEntryPoint() {
+        ConcurrentTarotDrawService service = new ConcurrentTarotDrawService(
+            new StandardTarotDeckFactory(new CachingCardRepository(() -> sampleCards(22))),
+            new PreShuffledDrawStrategy(),
+            new SplittingRandomProvider(17));
+        Spread spread = new PatternBasedSpread(null, ThreeCardPattern.PAST_PRESENT_FUTURE);
+
+        Set<List<Integer>> byCount = new HashSet<>();
+        Set<List<Integer>> bySpread = new HashSet<>();
+        Set<List<Integer>> byCodes = new HashSet<>();
+        short[] codes = new short[3];
+        for (int i = 0; i < 20; i++) {
+            byCount.add(ordinals(service.draw(3, false).getDrawnCards()));
+            bySpread.add(ordinals(service.draw(spread, false).getDrawnCards()));
+            service.drawCodes(spread, false, codes, 0);
+            byCodes.add(List.of(codes[0] >> 1, codes[1] >> 1, codes[2] >> 1));
+        }
+
+        // 牌堆每次都恢复为目录顺序，不打乱牌堆顶时 20 次占卜全都相同
+        assertTrue(byCount.size() > 15, "draw(int) 的结果应各不相同：" + byCount.size());
+        assertTrue(bySpread.size() > 15, "draw(Spread) 的结果应各不相同：" + bySpread.size());
+        assertTrue(byCodes.size() > 15, "drawCodes 的结果应各不相同：" + byCodes.size());
+    }
+
+    private static List<Integer> ordinals(List<DrawnCard> drawn) {
+        return drawn.stream().map(card -> card.getCard().getOrdinal()).toList();
+    }
+
+    private void stress(ConcurrentTarotDrawService service) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    int readings = 0;
+                    for (int i = 0; i < READINGS_PER_THREAD; i++) {
+                        List<DrawnCard> drawn = service.draw(CARDS_PER_READING, true).getDrawnCards();
+                        assertEquals(CARDS_PER_READING, drawn.size());
+                        boolean[] seen = new boolean[22];
+                        for (DrawnCard card : drawn) {
+                            int ordinal = card.getCard().getOrdinal();
+                            assertTrue(!seen[ordinal], "同一次占卜中出现重复的牌：" + card);
+                            seen[ordinal] = true;
+                        }
+                        readings++;
+                    }
+                    return readings;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get(60, TimeUnit.SECONDS);
+            }
+            assertEquals(THREADS * READINGS_PER_THREAD, total);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static List<TarotCard> sampleCards(int count) {
+        List<TarotCard> cards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cards.add(new TarotCard("card-" + i, "牌" + i, Arcana.MAJOR, Suit.NONE, i));
+        }
+        return cards;
+    }
+}
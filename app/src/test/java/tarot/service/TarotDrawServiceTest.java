@@ -0,0 +1,224 @@
+package tarot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+
+import tarot.deck.factory.StandardTarotDeckFactory;
+import tarot.domain.Arcana;
+import tarot.domain.Deck;
+import tarot.domain.DrawnCard;
+import tarot.domain.Suit;
+import tarot.domain.SubDeckTemplate;
+import tarot.domain.TarotCard;
+import tarot.draw.strategy.DrawStrategy;
+import tarot.draw.strategy.PhysicalShuffleDrawStrategy;
+import tarot.draw.strategy.PreShuffledDrawStrategy;
+import tarot.draw.strategy.StandardDrawStrategy;
+import tarot.repository.CachingCardRepository;
+import tarot.spread.PatternBasedSpread;
+import tarot.spread.Spread;
+import tarot.spread.SpreadBatch;
+import tarot.spread.SpreadResult;
+import tarot.spread.ThreeCardPattern;
+
+class TarotDrawServiceTest {
+
+    private static final int MAJORS = 22;
+    private static final int MINORS = 56;
+    private static final Spread THREE_CARDS = new PatternBasedSpread(null, ThreeCardPattern.PAST_PRESENT_FUTURE);
+
+    private final TarotDrawService service = new TarotDrawService(
+        new StandardTarotDeckFactory(new CachingCardRepository(TarotDrawServiceTest::sampleCards)),
+        new StandardDrawStrategy(),
+        new Random(9));
+
+    @Test
+    void templateDrawShouldLeaveCurrentDeckUntouched() {
+        Deck before = service.getCurrentDeck();
+        SubDeckTemplate majors = before.getCatalog().template(SubDeckTemplate.MAJORS);
+
+        for (int i = 0; i < 50; i++) {
+            SpreadResult result = service.draw(THREE_CARDS, majors, true);
+            for (DrawnCard card : result.getDrawnCards()) {
+                assertEquals(Arcana.MAJOR, card.getCard().getArcana());
+            }
+        }
+
+        assertSame(before, service.getCurrentDeck());
+        assertEquals(MAJORS + MINORS, service.getCurrentDeck().size());
+        boolean minorDrawn = false;
+        for (int i = 0; i < 50 && !minorDrawn; i++) {
+            service.resetDeck();
+            for (DrawnCard card : service.draw(5, false).getDrawnCards()) {
+                minorDrawn |= card.getCard().getArcana() == Arcana.MINOR;
+            }
+        }
+        assertTrue(minorDrawn, "模板抽牌之后的普通抽牌应仍使用完整牌堆");
+    }
+
+    @Test
+    void drawBatchShouldProduceIndependentReadingsOfTheSpreadSize() {
+        Deck before = service.getCurrentDeck();
+
+        SpreadBatch batch = service.drawBatch(THREE_CARDS, 2_000, true);
+
+        assertEquals(2_000, batch.size());
+        assertEquals(3, batch.getCardCount());
+        assertSame(THREE_CARDS, batch.getSpread());
+        int reversed = 0;
+        for (int reading = 0; reading < batch.size(); reading++) {
+            assertEquals(3, batch.get(reading).getDrawnCards().size());
+            Set<Integer> ordinals = new HashSet<>();
+            for (int position = 0; position < 3; position++) {
+                assertTrue(ordinals.add(batch.ordinalAt(reading, position)), "同一次占卜中出现重复的牌");
+                reversed += batch.isReversedAt(reading, position) ? 1 : 0;
+            }
+        }
+        assertTrue(reversed > 2_500 && reversed < 3_500, "逆位比例应接近一半：" + reversed);
+        assertSame(before, service.getCurrentDeck());
+        assertEquals(MAJORS + MINORS, before.size());
+    }
+
+    @Test
+    void drawBatchShouldNotReverseCardsWhenDisabled() {
+        SpreadBatch batch = service.drawBatch(THREE_CARDS, 500, false);
+
+        for (int reading = 0; reading < batch.size(); reading++) {
+            for (int position = 0; position < 3; position++) {
+                assertFalse(batch.isReversedAt(reading, position));
+            }
+        }
+    }
+
+    @Test
+    void drawBatchShouldCoverTheWholeDeck() {
+        SpreadBatch batch = service.drawBatch(THREE_CARDS, 2_000, false);
+
+        int[] counts = new int[MAJORS + MINORS];
+        for (int reading = 0; reading < batch.size(); reading++) {
+            for (int position = 0; position < 3; position++) {
+                counts[batch.ordinalAt(reading, position)]++;
+            }
+        }
+        for (int count : counts) {
+            // 每张牌期望出现约77次
+            assertTrue(count > 30 && count < 140, "抽到某张牌的次数偏离均匀分布：" + count);
+        }
+    }
+
+    @Test
+    void drawBatchShouldRejectNegativeReadingCount() {
+        assertThrows(IllegalArgumentException.class, () -> service.drawBatch(THREE_CARDS, -1, true));
+        assertEquals(0, service.drawBatch(THREE_CARDS, 0, true).size());
+    }
+
+    @Test
+    void preShuffledBatchReadingsShouldDiffer() {
+        TarotDrawService preShuffled = new TarotDrawService(
+            new StandardTarotDeckFactory(new CachingCardRepository(TarotDrawServiceTest::sampleCards)),
+            new PreShuffledDrawStrategy(),
+            new Random(17));
+
+        SpreadBatch batch = preShuffled.drawBatch(THREE_CARDS, 200, false);
+
+        Set<List<Integer>> readings = new HashSet<>();
+        for (int reading = 0; reading < batch.size(); reading++) {
+            readings.add(List.of(batch.ordinalAt(reading, 0), batch.ordinalAt(reading, 1), batch.ordinalAt(reading, 2)));
+        }
+        assertTrue(readings.size() > 190, "批量中的占卜结果应各不相同：" + readings.size());
+    }
+
+    @Test
+    void preShuffledDrawsFromTheCurrentDeckShouldDiffer() {
+        TarotDrawService preShuffled = new TarotDrawService(
+            new StandardTarotDeckFactory(new CachingCardRepository(TarotDrawServiceTest::sampleCards)),
+            new PreShuffledDrawStrategy(),
+            new Random(23));
+
+        Set<List<String>> readings = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            preShuffled.resetDeck();
+            List<String> ids = new ArrayList<>();
+            for (DrawnCard card : preShuffled.draw(THREE_CARDS, false).getDrawnCards()) {
+                ids.add(card.getCard().getId());
+            }
+            readings.add(ids);
+        }
+        assertTrue(readings.size() > 15, "重置后的单次抽牌结果应各不相同：" + readings.size());
+    }
+
+    @Test
+    void orderDependentStrategiesShouldStartEveryBatchReadingFromCatalogOrder() {
+        TarotDrawService cutOnly = new TarotDrawService(
+            new StandardTarotDeckFactory(new CachingCardRepository(TarotDrawServiceTest::sampleCards)),
+            PhysicalShuffleDrawStrategy.riffles(0),
+            new Random(19));
+
+        SpreadBatch batch = cutOnly.drawBatch(THREE_CARDS, 300, false);
+
+        // 从目录顺序切一次牌，切点服从 Binomial(78, 1/2)；若沿用上一次的顺序，切点会不断累积而漂移
+        for (int reading = 0; reading < batch.size(); reading++) {
+            int top = batch.ordinalAt(reading, 0);
+            assertTrue(top >= 20 && top <= 58, "第 " + reading + " 次占卜的第一张：" + top);
+            assertEquals(top + 1, batch.ordinalAt(reading, 1));
+            assertEquals(top + 2, batch.ordinalAt(reading, 2));
+        }
+    }
+
+    @Test
+    void listBasedStrategiesAdaptedThroughEncodeAllShouldWorkInBatches() {
+        DrawStrategy topCards = new DrawStrategy() {
+            @Override
+            public List<DrawnCard> draw(Deck deck, int count, boolean enableReversed, RandomGenerator random) {
+                List<DrawnCard> drawn = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    drawn.add(new DrawnCard(deck.drawTop(), i == 1));
+                }
+                return drawn;
+            }
+
+            @Override
+            public void drawCodes(Deck deck, int count, boolean enableReversed, RandomGenerator random,
+                    short[] codes, int offset) {
+                DrawStrategy.encodeAll(draw(deck, count, enableReversed, random), codes, offset);
+            }
+        };
+        TarotDrawService legacy = new TarotDrawService(
+            new StandardTarotDeckFactory(new CachingCardRepository(TarotDrawServiceTest::sampleCards)),
+            topCards,
+            new Random(1));
+
+        SpreadBatch batch = legacy.drawBatch(THREE_CARDS, 2, true);
+
+        for (int reading = 0; reading < 2; reading++) {
+            assertEquals(List.of(0, 1, 2),
+                List.of(batch.ordinalAt(reading, 0), batch.ordinalAt(reading, 1), batch.ordinalAt(reading, 2)));
+            assertFalse(batch.isReversedAt(reading, 0));
+            assertTrue(batch.isReversedAt(reading, 1));
+        }
+    }
+
+    private static List<TarotCard> sampleCards() {
+        List<TarotCard> cards = new ArrayList<>();
+        for (int i = 0; i < MAJORS; i++) {
+            cards.add(new TarotCard("major-" + i, "大牌" + i, Arcana.MAJOR, Suit.NONE, i));
+        }
+        Suit[] suits = {Suit.WANDS, Suit.CUPS, Suit.SWORDS, Suit.PENTACLES};
+        for (int i = 0; i < MINORS; i++) {
+            cards.add(new TarotCard("minor-" + i, "小牌" + i, Arcana.MINOR, suits[i / 14], i % 14 + 1));
+        }
+        return cards;
+    }
+}
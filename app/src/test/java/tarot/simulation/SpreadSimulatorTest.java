@@ -0,0 +1,96 @@
+package tarot.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import tarot.domain.Arcana;
+import tarot.domain.CardCatalog;
+import tarot.domain.Suit;
+import tarot.domain.TarotCard;
+import tarot.draw.strategy.DrawStrategy;
+import tarot.draw.strategy.PartialShuffleDrawStrategy;
+import tarot.draw.strategy.PreShuffledDrawStrategy;
+import tarot.spread.PatternBasedSpread;
+import tarot.spread.Spread;
+import tarot.spread.ThreeCardPattern;
+
+class SpreadSimulatorTest {
+
+    private static final int MAJORS = 22;
+    private static final int MINORS = 56;
+    private static final Spread THREE_CARDS = new PatternBasedSpread(null, ThreeCardPattern.PAST_PRESENT_FUTURE);
+    private static final ReadingPredicate AT_LEAST_ONE_MAJOR =
+        ReadingPredicate.atLeast(card -> card.getArcana() == Arcana.MAJOR, 1);
+
+    private final CardCatalog catalog = CardCatalog.of(sampleCards());
+
+    @Test
+    void sameSeedShouldGiveIdenticalCountersRegardlessOfParallelism() {
+        long readings = 5L * SpreadSimulator.CHUNK_SIZE + 123;
+
+        SimulationResult single = run(new PartialShuffleDrawStrategy(), 1, readings);
+        SimulationResult parallel = run(new PartialShuffleDrawStrategy(), 4, readings);
+
+        assertEquals(readings, parallel.getReadings());
+        assertEquals(single.hits(0), parallel.hits(0));
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            assertEquals(single.cardCount(ordinal), parallel.cardCount(ordinal));
+            assertEquals(single.reversedCount(ordinal), parallel.reversedCount(ordinal));
+            for (int position = 0; position < 3; position++) {
+                assertEquals(single.positionCount(position, ordinal), parallel.positionCount(position, ordinal));
+            }
+        }
+    }
+
+    @Test
+    void frequenciesShouldMatchUniformDraws() {
+        assertUniform(run(new PartialShuffleDrawStrategy(), 4, 200_000));
+    }
+
+    @Test
+    void preShuffledStrategyShouldStillDrawUniformly() {
+        assertUniform(run(new PreShuffledDrawStrategy(), 4, 200_000));
+    }
+
+    private static void assertUniform(SimulationResult result) {
+        // 每张牌每个牌位期望出现 200000 / 78 ≈ 2564 次
+        for (int ordinal = 0; ordinal < MAJORS + MINORS; ordinal++) {
+            assertEquals(3.0 / 78, result.cardFrequency(ordinal), 0.002, "牌 " + ordinal);
+            double reversed = (double) result.reversedCount(ordinal) / result.cardCount(ordinal);
+            assertEquals(0.5, reversed, 0.05, "牌 " + ordinal + " 的逆位比例");
+            for (int position = 0; position < 3; position++) {
+                long count = result.positionCount(position, ordinal);
+                assertTrue(count > 2_200 && count < 2_950, "牌 " + ordinal + " 在牌位 " + position + "：" + count);
+            }
+        }
+        // 1 - C(56,3) / C(78,3)
+        assertEquals(0.63563, result.probability(0), 0.006);
+    }
+
+    private SimulationResult run(DrawStrategy strategy, int parallelism, long readings) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return new SpreadSimulator(catalog, strategy, pool).run(THREE_CARDS, readings, true, 42L, AT_LEAST_ONE_MAJOR);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<TarotCard> sampleCards() {
+        List<TarotCard> cards = new ArrayList<>();
+        for (int i = 0; i < MAJORS; i++) {
+            cards.add(new TarotCard("major-" + i, "大牌" + i, Arcana.MAJOR, Suit.NONE, i));
+        }
+        Suit[] suits = {Suit.WANDS, Suit.CUPS, Suit.SWORDS, Suit.PENTACLES};
+        for (int i = 0; i < MINORS; i++) {
+            cards.add(new TarotCard("minor-" + i, "小牌" + i, Arcana.MINOR, suits[i / 14], i % 14 + 1));
+        }
+        return cards;
+    }
+}
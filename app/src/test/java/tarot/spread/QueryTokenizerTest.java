@@ -0,0 +1,169 @@
+package tarot.spread;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+class QueryTokenizerTest {
+
+    /** 原先基于正则与子串的分词实现，作为等价性对照 */
+    private static final Pattern LEGACY_TERM_PATTERN = Pattern.compile("(?i)[a-z0-9]+|\\p{IsHan}+");
+
+    private static final String ALPHABET = "aZq09Xy 关系未来感情走向接下来怎么办工作瓶颈的我和她，。?!-é";
+
+    private static final List<String> PROFILE_TEXTS = List.of(
+        "关系牌阵 你 对方 关系现状 未来走向 感情",
+        "问题分析 阻碍 建议 结果 原因 Work 2024",
+        "三张牌 过去 现在 未来 趋势 接下来",
+        "Celtic Cross 凯尔特十字 𠀀𠀁 挑战 潜意识");
+
+    /** 同义词表中的条目都是 2~3 个汉字，按 n-gram 精确查表与短语匹配的结果相同 */
+    private static final Map<String, String> CANONICAL_TERMS = SynonymMatcher.read("/tarot/synonyms.txt");
+
+    private final TermVocabulary vocabulary = vocabularyOf(PROFILE_TEXTS);
+    private final QueryTokenizer tokenizer = new QueryTokenizer(vocabulary, SpreadRecommender.SYNONYMS);
+
+    @Test
+    void termCountsShouldMatchLegacyTokenizer() {
+        for (String text : samples()) {
+            assertEquals(legacyTermCounts(text), SpreadRecommender.termCounts(text), text);
+        }
+    }
+
+    @Test
+    void queryVectorShouldMatchLegacyTokenizer() {
+        for (String text : samples()) {
+            SparseTermVector expected = SparseTermVector.of(legacyTermCounts(text), vocabulary);
+            assertSameVector(expected, tokenizer.tokenize(text), text);
+        }
+    }
+
+    @Test
+    void asciiCanonicalsShouldShareTermIdsWithQueryTerms() {
+        SynonymMatcher synonyms = SynonymMatcher.of(Map.of("事业", "Work", "职场", "WORK"));
+        Map<String, Integer> profile = SpreadRecommender.termCounts("事业 work 职场", synonyms);
+        TermVocabulary profileVocabulary = TermVocabulary.of(List.of(profile));
+        QueryTokenizer profileTokenizer = new QueryTokenizer(profileVocabulary, synonyms);
+
+        assertEquals(Map.of("事业", 1, "职场", 1, "work", 3), profile);
+        for (String text : List.of("事业", "WORK", "职场 Work", "事业的 work")) {
+            SparseTermVector expected =
+                SparseTermVector.of(SpreadRecommender.termCounts(text, synonyms), profileVocabulary);
+            assertSameVector(expected, profileTokenizer.tokenize(text), text);
+        }
+    }
+
+    @Test
+    void repeatedUnknownTermsShouldCountTowardsMagnitude() {
+        StringBuilder text = new StringBuilder("关系");
+        for (int i = 0; i < 500; i++) {
+            text.append(" word").append(i % 100);
+        }
+
+        QueryTokenizer.QueryVector vector = tokenizer.tokenize(text);
+
+        assertEquals(1, vector.size());
+        assertTrue(vector.weights()[0] < 0.05f);
+        assertEquals(SparseTermVector.of(legacyTermCounts(text.toString()), vocabulary).weightAt(0),
+            vector.weights()[0]);
+    }
+
+    private static void assertSameVector(SparseTermVector expected, QueryTokenizer.QueryVector actual,
+            String text) {
+        assertEquals(expected.isEmpty(), actual.isEmpty(), text);
+        assertEquals(expected.size(), actual.size(), text);
+        int[] ids = new int[expected.size()];
+        float[] weights = new float[expected.size()];
+        for (int i = 0; i < expected.size(); i++) {
+            ids[i] = expected.idAt(i);
+            weights[i] = expected.weightAt(i);
+        }
+        assertArrayEquals(ids, Arrays.copyOf(actual.ids(), actual.size()), text);
+        assertArrayEquals(weights, Arrays.copyOf(actual.weights(), actual.size()), text);
+    }
+
+    private static List<String> samples() {
+        List<String> samples = new ArrayList<>(List.of(
+            "",
+            "   ",
+            "我和她的感情走向？",
+            "工作遇到瓶颈怎么办",
+            "接下来 Career 会怎样 CAREER career",
+            "关",
+            "a",
+            "𠀀",
+            "𠀀关系𠀁",
+            "Work2024年的发展前景",
+            "关系关系关系，关系",
+            "écoute-moi: l'amour?"));
+        Random random = new Random(24);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(24);
+            for (int j = 0; j < length; j++) {
+                if (random.nextInt(20) == 0) {
+                    text.appendCodePoint(0x20000 + random.nextInt(3));
+                } else {
+                    text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                }
+            }
+            samples.add(text.toString());
+        }
+        return samples;
+    }
+
+    private static TermVocabulary vocabularyOf(List<String> texts) {
+        List<Map<String, Integer>> counts = new ArrayList<>();
+        for (String text : texts) {
+            counts.add(legacyTermCounts(text));
+        }
+        return TermVocabulary.of(counts);
+    }
+
+    private static Map<String, Integer> legacyTermCounts(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        Matcher matcher = LEGACY_TERM_PATTERN.matcher(text);
+        while (matcher.find()) {
+            String term = matcher.group().toLowerCase(Locale.ROOT);
+            if (isAscii(term) || term.length() == 1) {
+                addNormalized(counts, term);
+                continue;
+            }
+            for (int size = 2; size <= 3; size++) {
+                for (int i = 0; i + size <= term.length(); i++) {
+                    addNormalized(counts, term.substring(i, i + size));
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static void addNormalized(Map<String, Integer> counts, String token) {
+        String canonical = CANONICAL_TERMS.getOrDefault(token, token);
+        counts.merge(canonical, 1, Integer::sum);
+        if (!canonical.equals(token)) {
+            counts.merge(token, 1, Integer::sum);
+        }
+    }
+
+    private static boolean isAscii(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (term.charAt(i) > 0x7f) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,107 @@
+package tarot.spread;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SparseTermVectorTest {
+
+    @Test
+    void dotProductShouldMatchCosineOfFullTermCounts() {
+        Random random = new Random(21);
+        List<Map<String, Integer>> profiles = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            profiles.add(randomCounts(random, "t", 12));
+        }
+        TermVocabulary vocabulary = TermVocabulary.of(profiles);
+
+        for (int i = 0; i < 500; i++) {
+            // 问题里混入词表外的词项，它们只影响模长
+            Map<String, Integer> query = randomCounts(random, "t", 12);
+            query.putAll(randomCounts(random, "unknown", 6));
+            SparseTermVector queryVector = SparseTermVector.of(query, vocabulary);
+
+            for (Map<String, Integer> profile : profiles) {
+                SparseTermVector profileVector = SparseTermVector.of(profile, vocabulary);
+                assertEquals(cosine(query, profile), dot(queryVector, profileVector), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    void shouldKeepOnlyVocabularyTermsInAscendingOrder() {
+        TermVocabulary vocabulary = TermVocabulary.of(List.of(Map.of("b", 1, "a", 1, "c", 1)));
+
+        SparseTermVector vector = SparseTermVector.of(Map.of("c", 3, "x", 4, "a", 1), vocabulary);
+
+        assertEquals(2, vector.size());
+        assertTrue(vector.idAt(0) < vector.idAt(1));
+        assertEquals("a", vocabulary.term(vector.idAt(0)));
+        assertEquals("c", vocabulary.term(vector.idAt(1)));
+        assertEquals((float) (1 / Math.sqrt(26)), vector.weightAt(0));
+        assertEquals((float) (3 / Math.sqrt(26)), vector.weightAt(1));
+    }
+
+    @Test
+    void onlyEmptyCountsShouldGiveEmptyVector() {
+        TermVocabulary vocabulary = TermVocabulary.of(List.of(Map.of("a", 1)));
+
+        assertTrue(SparseTermVector.of(Map.of(), vocabulary).isEmpty());
+        SparseTermVector unknownOnly = SparseTermVector.of(Map.of("x", 2), vocabulary);
+        assertFalse(unknownOnly.isEmpty());
+        assertEquals(0, unknownOnly.size());
+    }
+
+    /** 对照实现：按完整词频表计算余弦相似度 */
+    private static double cosine(Map<String, Integer> a, Map<String, Integer> b) {
+        double dot = 0;
+        for (Map.Entry<String, Integer> entry : a.entrySet()) {
+            Integer other = b.get(entry.getKey());
+            if (other != null) {
+                dot += (double) entry.getValue() * other;
+            }
+        }
+        return dot / (magnitude(a) * magnitude(b));
+    }
+
+    private static double magnitude(Map<String, Integer> counts) {
+        double sum = 0;
+        for (int count : counts.values()) {
+            sum += (double) count * count;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private static double dot(SparseTermVector a, SparseTermVector b) {
+        double sum = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.size() && j < b.size()) {
+            if (a.idAt(i) < b.idAt(j)) {
+                i++;
+            } else if (a.idAt(i) > b.idAt(j)) {
+                j++;
+            } else {
+                sum += a.weightAt(i++) * b.weightAt(j++);
+            }
+        }
+        return sum;
+    }
+
+    private static Map<String, Integer> randomCounts(Random random, String prefix, int terms) {
+        Map<String, Integer> counts = new HashMap<>();
+        int size = 1 + random.nextInt(5);
+        for (int i = 0; i < size; i++) {
+            counts.merge(prefix + random.nextInt(terms), 1 + random.nextInt(4), Integer::sum);
+        }
+        return counts;
+    }
+}
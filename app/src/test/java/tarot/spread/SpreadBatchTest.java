@@ -0,0 +1,77 @@
+package tarot.spread;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import tarot.domain.Arcana;
+import tarot.domain.CardCatalog;
+import tarot.domain.DrawnCard;
+import tarot.domain.Suit;
+import tarot.domain.TarotCard;
+
+class SpreadBatchTest {
+
+    private final CardCatalog catalog = CardCatalog.of(sampleCards(10));
+    private final Spread spread = new PatternBasedSpread(null, ThreeCardPattern.PAST_PRESENT_FUTURE);
+
+    @Test
+    void shouldExposeEachReadingFromTheColumnarCodes() {
+        short[] codes = {
+            code(0, false), code(5, true), code(9, false),
+            code(3, true), code(1, false), code(7, true)};
+
+        SpreadBatch batch = new SpreadBatch(spread, catalog, codes, 2, Instant.EPOCH);
+
+        assertEquals(2, batch.size());
+        assertEquals(3, batch.getCardCount());
+        assertEquals(5, batch.ordinalAt(0, 1));
+        assertTrue(batch.isReversedAt(0, 1));
+        assertEquals(7, batch.ordinalAt(1, 2));
+        assertFalse(batch.isReversedAt(1, 1));
+
+        List<DrawnCard> second = batch.get(1).getDrawnCards();
+        assertEquals(3, second.size());
+        assertEquals("card-3", second.get(0).getCard().getId());
+        assertTrue(second.get(0).isReversed());
+        assertEquals("card-1", second.get(1).getCard().getId());
+        assertEquals(batch.drawnCardAt(1, 2), second.get(2));
+        assertEquals(Instant.EPOCH, batch.get(0).getTimestamp());
+    }
+
+    @Test
+    void shouldRejectCodesThatDoNotMatchTheSpread() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> new SpreadBatch(spread, catalog, new short[5], 2, Instant.EPOCH));
+
+        assertTrue(ex.getMessage().contains("批量结果需要"));
+    }
+
+    @Test
+    void shouldRejectOutOfRangeReadingsAndPositions() {
+        SpreadBatch batch = new SpreadBatch(spread, catalog, new short[6], 2, Instant.EPOCH);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.ordinalAt(0, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.isReversedAt(-1, 0));
+    }
+
+    private static short code(int ordinal, boolean reversed) {
+        return (short) CardCatalog.encode(ordinal, reversed);
+    }
+
+    private static List<TarotCard> sampleCards(int count) {
+        List<TarotCard> cards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cards.add(new TarotCard("card-" + i, "牌" + i, Arcana.MAJOR, Suit.NONE, i));
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,192 @@
+package tarot.spread;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class SpreadIndexTest {
+
+    @Test
+    void searchShouldMatchBruteForceRanking() {
+        Random random = new Random(22);
+        List<Map<String, Integer>> counts = new ArrayList<>();
+        List<Spread> spreads = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            // 约三分之一的画像复制已有画像的词频，制造同分
+            if (i > 0 && random.nextInt(3) == 0) {
+                counts.add(counts.get(random.nextInt(i)));
+            } else {
+                counts.add(randomCounts(random, "t", 15));
+            }
+            // 名称只有 10 种，牌数只有 3 种，同名与同牌数都很常见
+            spreads.add(new TestSpread("s" + random.nextInt(10), 1 + random.nextInt(3)));
+        }
+        TermVocabulary vocabulary = TermVocabulary.of(counts);
+        List<SparseTermVector> vectors = vectorsOf(counts, vocabulary);
+        SpreadIndex index = new SpreadIndex(vectors, spreads, vocabulary.size());
+
+        for (int i = 0; i < 1000; i++) {
+            Map<String, Integer> query = randomCounts(random, "t", 15);
+            query.putAll(randomCounts(random, "unknown", 5));
+            SparseTermVector queryVector = SparseTermVector.of(query, vocabulary);
+            double minScore = new double[] {1e-9, 0.05, 0.3, 0.7}[random.nextInt(4)];
+            int limit = random.nextInt(12);
+
+            int[] expected = bruteForce(vectors, spreads, queryVector, minScore, limit);
+            int[] actual = index.search(queryOf(queryVector), minScore, limit);
+
+            assertArrayEquals(expected, actual, query + " minScore=" + minScore + " limit=" + limit);
+        }
+    }
+
+    @Test
+    void tiesShouldBreakByCardCountThenNameThenProfileOrder() {
+        Map<String, Integer> tied = Map.of("x", 1, "y", 1);
+        List<Map<String, Integer>> counts = List.of(tied, tied, tied, tied, tied, Map.of("x", 1), tied);
+        List<Spread> spreads = List.of(
+            new TestSpread("b", 3),
+            new TestSpread("a", 3),
+            new TestSpread("c", 1),
+            new TestSpread("a", 3),
+            new TestSpread("d", 3),
+            new TestSpread("b", 3),
+            new TestSpread("a", 2));
+        TermVocabulary vocabulary = TermVocabulary.of(counts);
+        SpreadIndex index = new SpreadIndex(vectorsOf(counts, vocabulary), spreads, vocabulary.size());
+        QueryTokenizer.QueryVector query = queryOf(SparseTermVector.of(Map.of("x", 1), vocabulary));
+
+        // 5 号得分最高并替代同名的 0 号；2 号牌数最少；“a” 中 6 号牌数更少，胜过 1、3 号
+        assertArrayEquals(new int[] {5, 2, 6, 4}, index.search(query, 0.05, 10));
+        assertArrayEquals(new int[] {5, 2}, index.search(query, 0.05, 2));
+        assertArrayEquals(new int[] {5}, index.search(query, 0.9, 10));
+        assertArrayEquals(new int[0], index.search(query, 0.05, 0));
+    }
+
+    @Test
+    void sameNameAndCardCountShouldKeepEarliestProfile() {
+        Map<String, Integer> tied = Map.of("x", 2, "y", 1);
+        List<Map<String, Integer>> counts = List.of(Map.of("z", 1), tied, tied, tied);
+        List<Spread> spreads = List.of(
+            new TestSpread("a", 1),
+            new TestSpread("a", 1),
+            new TestSpread("b", 1),
+            new TestSpread("a", 1));
+        TermVocabulary vocabulary = TermVocabulary.of(counts);
+        SpreadIndex index = new SpreadIndex(vectorsOf(counts, vocabulary), spreads, vocabulary.size());
+        QueryTokenizer.QueryVector query = queryOf(SparseTermVector.of(Map.of("y", 1), vocabulary));
+
+        // 0 号与问题没有共同词项，不参与排名
+        assertArrayEquals(new int[] {1, 2}, index.search(query, 1e-9, 10));
+    }
+
+    /** 对照实现：对全部画像逐一计算得分，完整排序后按名称去重并截取前 limit 个 */
+    private static int[] bruteForce(List<SparseTermVector> vectors, List<Spread> spreads,
+            SparseTermVector query, double minScore, int limit) {
+        double[] scores = new double[vectors.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int profile = 0; profile < vectors.size(); profile++) {
+            SparseTermVector vector = vectors.get(profile);
+            boolean shared = false;
+            for (int i = 0; i < query.size(); i++) {
+                for (int j = 0; j < vector.size(); j++) {
+                    if (query.idAt(i) == vector.idAt(j)) {
+                        scores[profile] += query.weightAt(i) * vector.weightAt(j);
+                        shared = true;
+                    }
+                }
+            }
+            if (shared && scores[profile] >= minScore) {
+                candidates.add(profile);
+            }
+        }
+        candidates.sort(Comparator.<Integer>comparingDouble(profile -> -scores[profile])
+            .thenComparingInt(profile -> spreads.get(profile).getCardCount())
+            .thenComparing(profile -> spreads.get(profile).getName())
+            .thenComparingInt(profile -> profile));
+
+        Set<String> names = new HashSet<>();
+        List<Integer> ranked = new ArrayList<>();
+        for (int profile : candidates) {
+            if (ranked.size() < limit && names.add(spreads.get(profile).getName())) {
+                ranked.add(profile);
+            }
+        }
+        return ranked.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static List<SparseTermVector> vectorsOf(List<Map<String, Integer>> counts,
+            TermVocabulary vocabulary) {
+        List<SparseTermVector> vectors = new ArrayList<>();
+        for (Map<String, Integer> profile : counts) {
+            vectors.add(SparseTermVector.of(profile, vocabulary));
+        }
+        return vectors;
+    }
+
+    private static QueryTokenizer.QueryVector queryOf(SparseTermVector vector) {
+        int[] ids = new int[vector.size()];
+        float[] weights = new float[vector.size()];
+        for (int i = 0; i < vector.size(); i++) {
+            ids[i] = vector.idAt(i);
+            weights[i] = vector.weightAt(i);
+        }
+        return new QueryTokenizer.QueryVector() {
+            @Override
+            public boolean isEmpty() {
+                return vector.isEmpty();
+            }
+
+            @Override
+            public int size() {
+                return ids.length;
+            }
+
+            @Override
+            public int[] ids() {
+                return Arrays.copyOf(ids, ids.length);
+            }
+
+            @Override
+            public float[] weights() {
+                return Arrays.copyOf(weights, weights.length);
+            }
+        };
+    }
+
+    private static Map<String, Integer> randomCounts(Random random, String prefix, int terms) {
+        Map<String, Integer> counts = new HashMap<>();
+        int size = 1 + random.nextInt(4);
+        for (int i = 0; i < size; i++) {
+            counts.merge(prefix + random.nextInt(terms), 1 + random.nextInt(3), Integer::sum);
+        }
+        return counts;
+    }
+
+    private record TestSpread(String name, int cardCount) implements Spread {
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public List<CardPosition> getPositions() {
+            return List.of();
+        }
+
+        @Override
+        public int getCardCount() {
+            return cardCount;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package tarot.spread;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import tarot.spread.SpreadRecommender.SpreadSuggestion;
+
+class SpreadRecommendationServiceTest {
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong catalog = new AtomicLong();
+    private final List<String> loads = new ArrayList<>();
+
+    @Test
+    void shouldCountHitsAndMisses() {
+        SpreadRecommendationService service = serviceOf(10);
+
+        List<SpreadSuggestion> first = service.recommend("工作");
+        List<SpreadSuggestion> second = service.recommend("工作");
+        service.recommend("感情");
+
+        assertSame(first, second);
+        assertEquals(List.of("工作", "感情"), loads);
+        assertEquals(new SpreadRecommendationService.Stats(1, 2, 0, 2), service.stats());
+        assertEquals(1.0 / 3, service.stats().hitRate(), 1e-12);
+    }
+
+    @Test
+    void caseAndWhitespaceVariantsShouldShareOneEntry() {
+        SpreadRecommendationService service = serviceOf(10);
+
+        List<SpreadSuggestion> expected = service.recommend("next step 怎么走");
+        for (String variant : List.of("Next Step 怎么走", "  NEXT   step\t怎么走\n", "next step 怎么走 ")) {
+            assertSame(expected, service.recommend(variant), variant);
+        }
+
+        assertEquals(List.of("next step 怎么走"), loads);
+        assertEquals(1, service.stats().size());
+        assertEquals(3, service.stats().hits());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedBeyondMaximumSize() {
+        SpreadRecommendationService service = serviceOf(3);
+
+        service.recommend("a");
+        service.recommend("b");
+        service.recommend("c");
+        service.recommend("a");
+        service.recommend("d");
+
+        SpreadRecommendationService.Stats stats = service.stats();
+        assertEquals(3, stats.size());
+        assertEquals(1, stats.evictions());
+
+        service.recommend("a");
+        service.recommend("b");
+        assertEquals(List.of("a", "b", "c", "d", "b"), loads);
+    }
+
+    @Test
+    void versionBumpShouldInvalidateCachedResults() {
+        SpreadRecommendationService service = serviceOf(10);
+        service.recommend("工作");
+        service.recommend("感情");
+
+        catalog.incrementAndGet();
+        version.incrementAndGet();
+
+        assertEquals("工作@1", service.recommend("工作").get(0).reason());
+        assertEquals(1, service.stats().size());
+        assertEquals(List.of("工作", "感情", "工作"), loads);
+    }
+
+    @Test
+    void loadStartedBeforeVersionBumpShouldNotBeServedAfterIt() throws Exception {
+        assertStaleLoadIsDropped(() -> version.incrementAndGet());
+    }
+
+    @Test
+    void loadStartedBeforeInvalidateAllShouldNotBeServedAfterIt() throws Exception {
+        assertStaleLoadIsDropped(null);
+    }
+
+    @Test
+    void shouldRejectNonPositiveMaximumSize() {
+        assertThrows(IllegalArgumentException.class, () -> new SpreadRecommendationService(0));
+    }
+
+    /**
+     * 让一次加载在读到旧目录后暂停，期间更新目录并使缓存失效，再放行这次加载；
+     * 之后的查询必须重新加载，而不是读到这次加载写入的旧结果。
+     *
+     * @param bumpVersion 更新目录版本的操作；为 null 时改为调用 {@link SpreadRecommendationService#invalidateAll()}
+     */
+    private void assertStaleLoadIsDropped(Runnable bumpVersion) throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SpreadRecommendationService service = new SpreadRecommendationService(question -> {
+            List<SpreadSuggestion> result = load(question);
+            if (question.equals("stale")) {
+                loading.countDown();
+                await(release);
+            }
+            return result;
+        }, version::get, 10);
+        AtomicReference<List<SpreadSuggestion>> staleResult = new AtomicReference<>();
+        Thread loader = new Thread(() -> staleResult.set(service.recommend("stale")));
+        loader.start();
+        assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+        catalog.incrementAndGet();
+        if (bumpVersion != null) {
+            bumpVersion.run();
+            // 由另一个问题触发版本检查与清空
+            service.recommend("other");
+        } else {
+            service.invalidateAll();
+        }
+        release.countDown();
+        loader.join(10_000);
+
+        assertEquals("stale@0", staleResult.get().get(0).reason());
+        assertEquals("stale@1", service.recommend("stale").get(0).reason());
+        assertEquals("stale@1", service.recommend("stale").get(0).reason());
+    }
+
+    private SpreadRecommendationService serviceOf(long maximumSize) {
+        return new SpreadRecommendationService(this::load, version::get, maximumSize);
+    }
+
+    /** 记录每次加载，理由中带上加载时的目录内容 */
+    private synchronized List<SpreadSuggestion> load(String question) {
+        loads.add(question);
+        return List.of(new SpreadSuggestion(new SingleCardSpread(), question + "@" + catalog.get()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
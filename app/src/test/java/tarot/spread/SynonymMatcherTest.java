@@ -0,0 +1,92 @@
+package tarot.spread;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SynonymMatcherTest {
+
+    @Test
+    void shouldReportOverlappingPhrasesInOnePass() {
+        SynonymMatcher matcher = SynonymMatcher.of(Map.of("情走", "a", "感情走", "b", "情走向如", "c", "情向", "d"));
+
+        assertEquals(List.of("1-4:b", "2-4:a", "2-6:c"), matches(matcher, "我感情走向如何"));
+    }
+
+    @Test
+    void shouldMatchLongPhrasesAsOneUnit() {
+        SynonymMatcher matcher = SynonymMatcher.of(Map.of("何去何从", "建议", "感情", "关系", "感情走向如何", "未来"));
+
+        assertEquals(List.of("2-4:关系", "2-8:未来", "9-13:建议"), matches(matcher, "我的感情走向如何，何去何从"));
+    }
+
+    @Test
+    void asciiPhrasesShouldOnlyMatchWholeWords() {
+        SynonymMatcher matcher = SynonymMatcher.of(Map.of("Art", "艺术", "next step", "建议"));
+
+        assertEquals(List.of("0-3:艺术", "16-25:建议", "26-29:艺术"), matches(matcher, "ART heart party Next Step art"));
+    }
+
+    @Test
+    void canonicalsShouldBeFoldedToLowerCaseAscii() {
+        SynonymMatcher matcher = SynonymMatcher.of(Map.of("事业", "Work", "职场", "WORK", "art", "Art"));
+
+        assertEquals(2, matcher.canonicalCount());
+        assertEquals(List.of("0-2:work", "3-5:work", "6-9:art"), matches(matcher, "事业 职场 ART"));
+    }
+
+    @Test
+    void shouldMatchEveryOccurrenceInLargeDictionary() {
+        Random random = new Random(25);
+        String alphabet = "关系未来建议阻碍原因结果";
+        Map<String, String> synonyms = new LinkedHashMap<>();
+        while (synonyms.size() < 20_000) {
+            StringBuilder phrase = new StringBuilder();
+            int length = 1 + random.nextInt(8);
+            for (int i = 0; i < length; i++) {
+                phrase.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            synonyms.putIfAbsent(phrase.toString(), "c" + synonyms.size() % 50);
+        }
+        SynonymMatcher matcher = SynonymMatcher.of(synonyms);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int end = 1; end <= text.length(); end++) {
+            for (int start = 0; start < end; start++) {
+                String canonical = synonyms.get(text.substring(start, end));
+                if (canonical != null) {
+                    expected.add(start + "-" + end + ":" + canonical);
+                }
+            }
+        }
+        assertEquals(20_000, matcher.size());
+        assertEquals(expected, matches(matcher, text.toString()));
+    }
+
+    @Test
+    void shouldLoadBundledSynonymsAndRejectDuplicates() {
+        Map<String, String> bundled = SynonymMatcher.read("/tarot/synonyms.txt");
+
+        assertEquals("未来", bundled.get("接下来"));
+        assertEquals(bundled.size(), SynonymMatcher.load("/tarot/synonyms.txt").size());
+        assertThrows(IllegalArgumentException.class, () -> SynonymMatcher.of(Map.of("ART", "a", "art", "b")));
+        assertThrows(IllegalStateException.class, () -> SynonymMatcher.read("/tarot/missing.txt"));
+    }
+
+    private static List<String> matches(SynonymMatcher matcher, String text) {
+        List<String> found = new ArrayList<>();
+        matcher.match(text, (start, end, canonical) -> found.add(start + "-" + end + ":" + matcher.canonical(canonical)));
+        return found;
+    }
+}